@@ -0,0 +1,195 @@
+package io.jfxdevelop;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class AVLTree <T extends Comparable<T>> implements Iterable<T> {
+    private static class Node<T> {
+        Node<T> left;
+        Node<T> right;
+        T data;
+        int height;
+
+        Node(T data){
+            this.data = data;
+            this.height = 1;
+        }
+    }
+
+    private Node<T> root;
+    private int size;
+
+    public AVLTree(){
+        this.root = null;
+        this.size = 0;
+    }
+
+    public void insert(T element){
+        if(element == null) throw new IllegalArgumentException("Cannot be insert element null");
+        root = insertRecursive(root, element);
+    }
+
+    // recursion depth is bounded by the AVL height, ~1.44 * log2(n)
+    private Node<T> insertRecursive(Node<T> current, T element){
+        if (current == null) {
+            size++;
+            return new Node<>(element);
+        }
+        int cmp = element.compareTo(current.data);
+        if (cmp < 0) {
+            current.left = insertRecursive(current.left, element);
+        } else if (cmp > 0) {
+            current.right = insertRecursive(current.right, element);
+        } else {
+            // duplicate, do nothing
+            return current;
+        }
+        return rebalance(current);
+    }
+
+    public boolean contains(T element){
+        if (element == null) return false;
+        Node<T> current = root;
+        while (current != null) {
+            int cmp = element.compareTo(current.data);
+            if (cmp < 0) current = current.left;
+            else if (cmp > 0) current = current.right;
+            else return true;
+        }
+        return false;
+    }
+
+    public void remove(T element){
+        if (element == null) return;
+        root = removeRecursive(root, element);
+    }
+
+    private Node<T> removeRecursive(Node<T> current, T element){
+        if (current == null) return null;
+        int cmp = element.compareTo(current.data);
+        if (cmp < 0) current.left = removeRecursive(current.left, element);
+        else if (cmp > 0) current.right = removeRecursive(current.right, element);
+        else {
+            if (current.left == null || current.right == null) {
+                size--;
+                return current.left != null ? current.left : current.right;
+            }
+            current.data = findMin(current.right);
+            current.right = removeRecursive(current.right, current.data);
+        }
+        return rebalance(current);
+    }
+
+    private T findMin(Node<T> current){
+        while (current.left != null) current = current.left;
+        return current.data;
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static void updateHeight(Node<?> node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+    }
+
+    private Node<T> rebalance(Node<T> node) {
+        updateHeight(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        updateHeight(node);
+        updateHeight(pivot);
+        return pivot;
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        updateHeight(node);
+        updateHeight(pivot);
+        return pivot;
+    }
+
+    public int height() {
+        return height(root);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        for(T element : this){
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(element);
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            // the path from the root never exceeds the tree height
+            @SuppressWarnings("unchecked")
+            private final Node<T>[] stack = (Node<T>[]) new Node[height(root)];
+            private int top;
+
+            {
+                pushLeft(root);
+            }
+
+            private void pushLeft(Node<T> node) {
+                while (node != null) {
+                    stack[top++] = node;
+                    node = node.left;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return top > 0;
+            }
+
+            @Override
+            public T next() {
+                if (top == 0) throw new NoSuchElementException();
+                Node<T> node = stack[--top];
+                stack[top] = null;
+                if (node.right != null) pushLeft(node.right);
+                return node.data;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,203 @@
+package io.jfxdevelop;
+
+import java.util.Arrays;
+
+// Scan and aggregation kernels over the first length elements of primitive arrays.
+// Uses VectorKernels (SIMD) when jdk.incubator.vector is in the boot layer
+// (run with --add-modules jdk.incubator.vector), scalar loops otherwise.
+// -Dio.jfxdevelop.vector=false forces the scalar path
+public final class ArrayKernels {
+
+    private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && !"false".equals(System.getProperty("io.jfxdevelop.vector"));
+
+    private ArrayKernels() {
+    }
+
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    private static void checkLength(int arrayLength, int length) {
+        if (length < 0 || length > arrayLength) {
+            throw new IndexOutOfBoundsException("Length out of bounds");
+        }
+    }
+
+    // int
+
+    public static int indexOf(int[] a, int length, int value) {
+        checkLength(a.length, length);
+        if (VECTORIZED) return VectorKernels.indexOf(a, length, value);
+        for (int i = 0; i < length; i++) {
+            if (a[i] == value) return i;
+        }
+        return -1;
+    }
+
+    public static int count(int[] a, int length, int value) {
+        checkLength(a.length, length);
+        if (VECTORIZED) return VectorKernels.count(a, length, value);
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (a[i] == value) count++;
+        }
+        return count;
+    }
+
+    // Integer.MAX_VALUE for an empty range
+    public static int min(int[] a, int length) {
+        checkLength(a.length, length);
+        if (VECTORIZED) return VectorKernels.min(a, length);
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < length; i++) min = Math.min(min, a[i]);
+        return min;
+    }
+
+    // Integer.MIN_VALUE for an empty range
+    public static int max(int[] a, int length) {
+        checkLength(a.length, length);
+        if (VECTORIZED) return VectorKernels.max(a, length);
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < length; i++) max = Math.max(max, a[i]);
+        return max;
+    }
+
+    public static long sum(int[] a, int length) {
+        checkLength(a.length, length);
+        if (VECTORIZED) return VectorKernels.sum(a, length);
+        long sum = 0;
+        for (int i = 0; i < length; i++) sum += a[i];
+        return sum;
+    }
+
+    // elements in [lo, hi], in their original order
+    public static int[] filterRange(int[] a, int length, int lo, int hi) {
+        checkLength(a.length, length);
+        if (VECTORIZED) return VectorKernels.filterRange(a, length, lo, hi);
+        int[] out = new int[length];
+        int n = 0;
+        for (int i = 0; i < length; i++) {
+            if (a[i] >= lo && a[i] <= hi) out[n++] = a[i];
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    // long
+
+    public static int indexOf(long[] a, int length, long value) {
+        checkLength(a.length, length);
+        if (VECTORIZED) return VectorKernels.indexOf(a, length, value);
+        for (int i = 0; i < length; i++) {
+            if (a[i] == value) return i;
+        }
+        return -1;
+    }
+
+    public static int count(long[] a, int length, long value) {
+        checkLength(a.length, length);
+        if (VECTORIZED) return VectorKernels.count(a, length, value);
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (a[i] == value) count++;
+        }
+        return count;
+    }
+
+    // Long.MAX_VALUE for an empty range
+    public static long min(long[] a, int length) {
+        checkLength(a.length, length);
+        if (VECTORIZED) return VectorKernels.min(a, length);
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < length; i++) min = Math.min(min, a[i]);
+        return min;
+    }
+
+    // Long.MIN_VALUE for an empty range
+    public static long max(long[] a, int length) {
+        checkLength(a.length, length);
+        if (VECTORIZED) return VectorKernels.max(a, length);
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < length; i++) max = Math.max(max, a[i]);
+        return max;
+    }
+
+    // wraps on overflow, like a scalar long sum
+    public static long sum(long[] a, int length) {
+        checkLength(a.length, length);
+        if (VECTORIZED) return VectorKernels.sum(a, length);
+        long sum = 0;
+        for (int i = 0; i < length; i++) sum += a[i];
+        return sum;
+    }
+
+    public static long[] filterRange(long[] a, int length, long lo, long hi) {
+        checkLength(a.length, length);
+        if (VECTORIZED) return VectorKernels.filterRange(a, length, lo, hi);
+        long[] out = new long[length];
+        int n = 0;
+        for (int i = 0; i < length; i++) {
+            if (a[i] >= lo && a[i] <= hi) out[n++] = a[i];
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    // double: comparisons use ==, so NaN is never found or counted
+
+    public static int indexOf(double[] a, int length, double value) {
+        checkLength(a.length, length);
+        if (VECTORIZED) return VectorKernels.indexOf(a, length, value);
+        for (int i = 0; i < length; i++) {
+            if (a[i] == value) return i;
+        }
+        return -1;
+    }
+
+    public static int count(double[] a, int length, double value) {
+        checkLength(a.length, length);
+        if (VECTORIZED) return VectorKernels.count(a, length, value);
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (a[i] == value) count++;
+        }
+        return count;
+    }
+
+    // Double.POSITIVE_INFINITY for an empty range, NaN if any element is NaN
+    public static double min(double[] a, int length) {
+        checkLength(a.length, length);
+        if (VECTORIZED) return VectorKernels.min(a, length);
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < length; i++) min = Math.min(min, a[i]);
+        return min;
+    }
+
+    // Double.NEGATIVE_INFINITY for an empty range, NaN if any element is NaN
+    public static double max(double[] a, int length) {
+        checkLength(a.length, length);
+        if (VECTORIZED) return VectorKernels.max(a, length);
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < length; i++) max = Math.max(max, a[i]);
+        return max;
+    }
+
+    // the vector path adds in lane order, so the last bits may differ from a sequential sum
+    public static double sum(double[] a, int length) {
+        checkLength(a.length, length);
+        if (VECTORIZED) return VectorKernels.sum(a, length);
+        double sum = 0;
+        for (int i = 0; i < length; i++) sum += a[i];
+        return sum;
+    }
+
+    public static double[] filterRange(double[] a, int length, double lo, double hi) {
+        checkLength(a.length, length);
+        if (VECTORIZED) return VectorKernels.filterRange(a, length, lo, hi);
+        double[] out = new double[length];
+        int n = 0;
+        for (int i = 0; i < length; i++) {
+            if (a[i] >= lo && a[i] <= hi) out[n++] = a[i];
+        }
+        return Arrays.copyOf(out, n);
+    }
+}
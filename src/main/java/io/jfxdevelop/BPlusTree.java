@@ -0,0 +1,386 @@
+package io.jfxdevelop;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// B+ tree: keys are packed into wide array nodes, all elements live in linked leaves
+public class BPlusTree <T extends Comparable<T>> implements Iterable<T> {
+    private abstract static class Node {
+        Object[] keys;
+        int count;
+    }
+
+    private static final class Leaf extends Node {
+        Leaf prev;
+        Leaf next;
+
+        Leaf(int order){
+            // one spare slot for the key that triggers a split
+            this.keys = new Object[order + 1];
+        }
+    }
+
+    private static final class Internal extends Node {
+        Node[] children;
+
+        Internal(int order){
+            this.keys = new Object[order + 1];
+            this.children = new Node[order + 2];
+        }
+    }
+
+    // 64 references per node: a leaf's keys span a handful of cache lines
+    private static final int DEFAULT_ORDER = 64;
+
+    private final int order;
+    private final int minKeys;
+    private Node root;
+    private int size;
+    private int height;
+    // separator produced by the last split, consumed by the parent
+    private Object splitKey;
+
+    public BPlusTree(){
+        this(DEFAULT_ORDER);
+    }
+
+    public BPlusTree(int order){
+        if (order < 4) throw new IllegalArgumentException("Order must be at least 4");
+        this.order = order;
+        this.minKeys = order / 2;
+        this.root = new Leaf(order);
+        this.size = 0;
+        this.height = 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<T>> int search(Node node, T element) {
+        int low = 0;
+        int high = node.count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = ((T) node.keys[mid]).compareTo(element);
+            if (cmp < 0) low = mid + 1;
+            else if (cmp > 0) high = mid - 1;
+            else return mid;
+        }
+        return -(low + 1);
+    }
+
+    // keys equal to a separator live in the right subtree
+    private static <T extends Comparable<T>> int childIndex(Internal node, T element) {
+        int index = search(node, element);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private Leaf findLeaf(T element) {
+        Node node = root;
+        while (node instanceof Internal) {
+            Internal internal = (Internal) node;
+            node = internal.children[childIndex(internal, element)];
+        }
+        return (Leaf) node;
+    }
+
+    public void insert(T element){
+        if(element == null) throw new IllegalArgumentException("Cannot be insert element null");
+        Node sibling = insertRecursive(root, element);
+        if (sibling != null) {
+            Internal newRoot = new Internal(order);
+            newRoot.keys[0] = splitKey;
+            newRoot.children[0] = root;
+            newRoot.children[1] = sibling;
+            newRoot.count = 1;
+            root = newRoot;
+            height++;
+        }
+        splitKey = null;
+    }
+
+    // returns the new right sibling if the node was split, recursion depth is the tree height
+    private Node insertRecursive(Node node, T element) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int index = search(leaf, element);
+            if (index >= 0) return null; // duplicate, do nothing
+            index = -index - 1;
+            System.arraycopy(leaf.keys, index, leaf.keys, index + 1, leaf.count - index);
+            leaf.keys[index] = element;
+            leaf.count++;
+            size++;
+            return leaf.count > order ? splitLeaf(leaf) : null;
+        }
+
+        Internal internal = (Internal) node;
+        int index = childIndex(internal, element);
+        Node sibling = insertRecursive(internal.children[index], element);
+        if (sibling == null) return null;
+        System.arraycopy(internal.keys, index, internal.keys, index + 1, internal.count - index);
+        System.arraycopy(internal.children, index + 1, internal.children, index + 2, internal.count - index);
+        internal.keys[index] = splitKey;
+        internal.children[index + 1] = sibling;
+        internal.count++;
+        return internal.count > order ? splitInternal(internal) : null;
+    }
+
+    private Leaf splitLeaf(Leaf leaf) {
+        Leaf right = new Leaf(order);
+        int leftCount = leaf.count / 2;
+        right.count = leaf.count - leftCount;
+        System.arraycopy(leaf.keys, leftCount, right.keys, 0, right.count);
+        clearKeys(leaf, leftCount, leaf.count);
+        leaf.count = leftCount;
+
+        right.next = leaf.next;
+        right.prev = leaf;
+        if (leaf.next != null) leaf.next.prev = right;
+        leaf.next = right;
+        splitKey = right.keys[0];
+        return right;
+    }
+
+    private Internal splitInternal(Internal node) {
+        Internal right = new Internal(order);
+        int mid = node.count / 2;
+        splitKey = node.keys[mid];
+        right.count = node.count - mid - 1;
+        System.arraycopy(node.keys, mid + 1, right.keys, 0, right.count);
+        System.arraycopy(node.children, mid + 1, right.children, 0, right.count + 1);
+        for (int i = mid + 1; i <= node.count; i++) node.children[i] = null;
+        clearKeys(node, mid, node.count);
+        node.count = mid;
+        return right;
+    }
+
+    private static void clearKeys(Node node, int from, int to) {
+        for (int i = from; i < to; i++) node.keys[i] = null;
+    }
+
+    public boolean contains(T element){
+        if (element == null) return false;
+        return search(findLeaf(element), element) >= 0;
+    }
+
+    public void remove(T element){
+        if (element == null) return;
+        removeRecursive(root, element);
+        if (root instanceof Internal && root.count == 0) {
+            root = ((Internal) root).children[0];
+            height--;
+        }
+    }
+
+    private void removeRecursive(Node node, T element) {
+        if (node instanceof Leaf) {
+            int index = search(node, element);
+            if (index < 0) return;
+            System.arraycopy(node.keys, index + 1, node.keys, index, node.count - index - 1);
+            node.keys[--node.count] = null;
+            size--;
+            return;
+        }
+
+        Internal internal = (Internal) node;
+        int index = childIndex(internal, element);
+        Node child = internal.children[index];
+        removeRecursive(child, element);
+        if (child.count < minKeys) fixUnderflow(internal, index);
+    }
+
+    private void fixUnderflow(Internal parent, int index) {
+        Node child = parent.children[index];
+        Node left = index > 0 ? parent.children[index - 1] : null;
+        Node right = index < parent.count ? parent.children[index + 1] : null;
+
+        if (left != null && left.count > minKeys) {
+            borrowFromLeft(parent, index, left, child);
+        } else if (right != null && right.count > minKeys) {
+            borrowFromRight(parent, index, child, right);
+        } else if (left != null) {
+            merge(parent, index - 1, left, child);
+        } else {
+            merge(parent, index, child, right);
+        }
+    }
+
+    private void borrowFromLeft(Internal parent, int index, Node left, Node child) {
+        System.arraycopy(child.keys, 0, child.keys, 1, child.count);
+        if (child instanceof Leaf) {
+            child.keys[0] = left.keys[left.count - 1];
+            parent.keys[index - 1] = child.keys[0];
+        } else {
+            Internal to = (Internal) child;
+            Internal from = (Internal) left;
+            System.arraycopy(to.children, 0, to.children, 1, to.count + 1);
+            to.keys[0] = parent.keys[index - 1];
+            to.children[0] = from.children[from.count];
+            from.children[from.count] = null;
+            parent.keys[index - 1] = from.keys[from.count - 1];
+        }
+        left.keys[--left.count] = null;
+        child.count++;
+    }
+
+    private void borrowFromRight(Internal parent, int index, Node child, Node right) {
+        if (child instanceof Leaf) {
+            child.keys[child.count] = right.keys[0];
+            System.arraycopy(right.keys, 1, right.keys, 0, right.count - 1);
+            parent.keys[index] = right.keys[0];
+        } else {
+            Internal to = (Internal) child;
+            Internal from = (Internal) right;
+            to.keys[to.count] = parent.keys[index];
+            to.children[to.count + 1] = from.children[0];
+            parent.keys[index] = from.keys[0];
+            System.arraycopy(from.keys, 1, from.keys, 0, from.count - 1);
+            System.arraycopy(from.children, 1, from.children, 0, from.count);
+            from.children[from.count] = null;
+        }
+        right.keys[--right.count] = null;
+        child.count++;
+    }
+
+    // merges parent.children[separator + 1] into parent.children[separator]
+    private void merge(Internal parent, int separator, Node left, Node right) {
+        if (left instanceof Leaf) {
+            System.arraycopy(right.keys, 0, left.keys, left.count, right.count);
+            left.count += right.count;
+            Leaf leftLeaf = (Leaf) left;
+            Leaf rightLeaf = (Leaf) right;
+            leftLeaf.next = rightLeaf.next;
+            if (rightLeaf.next != null) rightLeaf.next.prev = leftLeaf;
+        } else {
+            Internal to = (Internal) left;
+            Internal from = (Internal) right;
+            to.keys[to.count] = parent.keys[separator];
+            System.arraycopy(from.keys, 0, to.keys, to.count + 1, from.count);
+            System.arraycopy(from.children, 0, to.children, to.count + 1, from.count + 1);
+            to.count += from.count + 1;
+        }
+        System.arraycopy(parent.keys, separator + 1, parent.keys, separator, parent.count - separator - 1);
+        System.arraycopy(parent.children, separator + 2, parent.children, separator + 1, parent.count - separator - 1);
+        parent.children[parent.count] = null;
+        parent.keys[--parent.count] = null;
+    }
+
+    // greatest element <= element, or null
+    public T floor(T element) {
+        return neighbour(element, true, false);
+    }
+
+    // greatest element < element, or null
+    public T lower(T element) {
+        return neighbour(element, false, false);
+    }
+
+    // least element >= element, or null
+    public T ceiling(T element) {
+        return neighbour(element, true, true);
+    }
+
+    // least element > element, or null
+    public T higher(T element) {
+        return neighbour(element, false, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T neighbour(T element, boolean inclusive, boolean above) {
+        Leaf leaf = findLeaf(element);
+        int index = search(leaf, element);
+        if (index >= 0 && inclusive) return (T) leaf.keys[index];
+        if (above) {
+            index = index >= 0 ? index + 1 : -index - 1;
+            while (leaf != null && index >= leaf.count) {
+                leaf = leaf.next;
+                index = 0;
+            }
+            return leaf == null ? null : (T) leaf.keys[index];
+        }
+        index = index >= 0 ? index - 1 : -index - 2;
+        while (leaf != null && index < 0) {
+            leaf = leaf.prev;
+            index = leaf == null ? -1 : leaf.count - 1;
+        }
+        return leaf == null ? null : (T) leaf.keys[index];
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        root = new Leaf(order);
+        size = 0;
+        height = 1;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        for(T element : this){
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(element);
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    // lazy in-order iterator over [lo, hi] walking the leaf chain
+    public Iterator<T> rangeIterator(T lo, T hi) {
+        if (lo == null || hi == null) throw new IllegalArgumentException("Range bounds cannot be null");
+        Leaf leaf = findLeaf(lo);
+        int index = search(leaf, lo);
+        return new LeafIterator(leaf, index >= 0 ? index : -index - 1, hi);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        Node node = root;
+        while (node instanceof Internal) node = ((Internal) node).children[0];
+        return new LeafIterator((Leaf) node, 0, null);
+    }
+
+    private final class LeafIterator implements Iterator<T> {
+        private final T hi;
+        private Leaf leaf;
+        private int index;
+
+        LeafIterator(Leaf leaf, int index, T hi) {
+            this.leaf = leaf;
+            this.index = index;
+            this.hi = hi;
+            skipExhausted();
+        }
+
+        private void skipExhausted() {
+            while (leaf != null && index >= leaf.count) {
+                leaf = leaf.next;
+                index = 0;
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean hasNext() {
+            return leaf != null && (hi == null || ((T) leaf.keys[index]).compareTo(hi) <= 0);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            T element = (T) leaf.keys[index++];
+            skipExhausted();
+            return element;
+        }
+    }
+
+}
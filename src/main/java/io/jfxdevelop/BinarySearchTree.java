@@ -1,24 +1,46 @@
 package io.jfxdevelop;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
-import java.util.Stack;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class BinarySearchTree <T extends Comparable<T>> implements Iterable<T> {
     private static class Node<T> {
         Node<T> left;
         Node<T> right;
         T data;
+        int size; // number of nodes in this subtree
 
         Node(T data){
             this.data = data;
             this.left = null;
             this.right = null;
+            this.size = 1;
         }
             
     }
 
+    // set operations
+    private static final int UNION = 0;
+    private static final int INTERSECTION = 1;
+    private static final int DIFFERENCE = 2;
+    // addAll rebuilds the tree unless the batch is this many times smaller
+    private static final int BULK_RATIO = 16;
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
     private Node<T> root;
     private int size;
+    // upper bound of the tree height: max depth reached by insert since the last clear
+    private int height;
 
     public BinarySearchTree(){
         this.root = null;
@@ -27,65 +49,348 @@ public class BinarySearchTree <T extends Comparable<T>> implements Iterable<T> {
 
     public void insert(T element){
         if(element == null) throw new IllegalArgumentException("Cannot be insert element null");
-        root = insertRecursive(root, element);
-
-    }
-
-    private Node<T> insertRecursive(Node<T> current, T element){
-        if (current == null) return new Node<>(element);
-        int cmp = element.compareTo(current.data);
-        if (cmp < 0) {
-            current.left = insertRecursive(current.left, element);
-        } else if (cmp > 0) {
-            current.right = insertRecursive(current.right, element);
-        } else {
-            // duplicate, do nothing
-            return current;
+        if (root == null) {
+            root = new Node<>(element);
+            size = 1;
+            height = Math.max(height, 1);
+            return;
+        }
+        Node<T> current = root;
+        int depth = 1;
+        while (true) {
+            int cmp = element.compareTo(current.data);
+            if (cmp == 0) {
+                // duplicate: roll back the subtree sizes counted on the way down
+                for (Node<T> node = root; node != current; node = element.compareTo(node.data) < 0 ? node.left : node.right) {
+                    node.size--;
+                }
+                return;
+            }
+            current.size++;
+            Node<T> next = cmp < 0 ? current.left : current.right;
+            if (next == null) {
+                if (cmp < 0) current.left = new Node<>(element);
+                else current.right = new Node<>(element);
+                break;
+            }
+            current = next;
+            depth++;
         }
-        return current;
+        size++;
+        height = Math.max(height, depth + 1);
     }
 
     public boolean contains(T element){
-        return containsRecursive(root, element);
-    }
-    private boolean containsRecursive(Node<T> current, T element){
-        if (current == null) return false;
-        int cmp = element.compareTo(current.data);
-        if (cmp < 0) return containsRecursive(current.left, element);
-        else if (cmp > 0) return containsRecursive(current.right, element);
-        else return true;
-    }   
+        Node<T> current = root;
+        while (current != null) {
+            int cmp = element.compareTo(current.data);
+            if (cmp < 0) current = current.left;
+            else if (cmp > 0) current = current.right;
+            else return true;
+        }
+        return false;
+    }
 
     public void remove(T element){
-        root = removeRecursive(root, element);
-    }
-    private Node<T> removeRecursive(Node<T> current, T element){
-        if (current == null) return null;
-        int cmp = element.compareTo(current.data);
-        if (cmp < 0) current.left = removeRecursive(current.left, element);
-        else if (cmp > 0) current.right = removeRecursive(current.right, element);
-        else {
-            if (current.left == null) return current.right;
-            else if (current.right == null) return current.left;
-            else {
-                current.data = findMin(current.right);
-                current.right = removeRecursive(current.right, current.data);
+        Node<T> parent = null;
+        Node<T> current = root;
+        while (current != null) {
+            int cmp = element.compareTo(current.data);
+            if (cmp == 0) break;
+            parent = current;
+            current = cmp < 0 ? current.left : current.right;
+        }
+        if (current == null) return;
+
+        for (Node<T> node = root; node != current; node = element.compareTo(node.data) < 0 ? node.left : node.right) {
+            node.size--;
+        }
+
+        if (current.left != null && current.right != null) {
+            // two children: move the successor's data up and unlink the successor instead
+            current.size--;
+            Node<T> successorParent = current;
+            Node<T> successor = current.right;
+            while (successor.left != null) {
+                successor.size--;
+                successorParent = successor;
+                successor = successor.left;
             }
+            current.data = successor.data;
+            parent = successorParent;
+            current = successor;
         }
-        return current;
+
+        Node<T> child = current.left != null ? current.left : current.right;
+        if (parent == null) root = child;
+        else if (parent.left == current) parent.left = child;
+        else parent.right = child;
+        size--;
     }
 
-    private T findMin(Node<T> current){
+    private T findMin() {
+        Node<T> current = root;
         while (current.left != null) current = current.left;
         return current.data;
     }
-    private T findMin() {
-        return findMinRecursive(root);
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    // number of elements strictly less than element
+    public int rank(T element) {
+        int rank = 0;
+        Node<T> current = root;
+        while (current != null) {
+            int cmp = element.compareTo(current.data);
+            if (cmp <= 0) {
+                if (cmp == 0) return rank + size(current.left);
+                current = current.left;
+            } else {
+                rank += size(current.left) + 1;
+                current = current.right;
+            }
+        }
+        return rank;
+    }
+
+    // k-th smallest element, 0-based
+    public T select(int k) {
+        if (k < 0 || k >= size) throw new IndexOutOfBoundsException("Index: " + k + ", Size: " + size);
+        Node<T> current = root;
+        while (true) {
+            int leftSize = size(current.left);
+            if (k < leftSize) {
+                current = current.left;
+            } else if (k > leftSize) {
+                k -= leftSize + 1;
+                current = current.right;
+            } else {
+                return current.data;
+            }
+        }
+    }
+
+    // greatest element <= element, or null
+    public T floor(T element) {
+        return lowerBound(element, true);
+    }
+
+    // greatest element < element, or null
+    public T lower(T element) {
+        return lowerBound(element, false);
+    }
+
+    // least element >= element, or null
+    public T ceiling(T element) {
+        return upperBound(element, true);
+    }
+
+    // least element > element, or null
+    public T higher(T element) {
+        return upperBound(element, false);
+    }
+
+    private T lowerBound(T element, boolean inclusive) {
+        T result = null;
+        Node<T> current = root;
+        while (current != null) {
+            int cmp = element.compareTo(current.data);
+            if (cmp == 0 && inclusive) return current.data;
+            if (cmp > 0) {
+                result = current.data;
+                current = current.right;
+            } else {
+                current = current.left;
+            }
+        }
+        return result;
+    }
+
+    private T upperBound(T element, boolean inclusive) {
+        T result = null;
+        Node<T> current = root;
+        while (current != null) {
+            int cmp = element.compareTo(current.data);
+            if (cmp == 0 && inclusive) return current.data;
+            if (cmp < 0) {
+                result = current.data;
+                current = current.left;
+            } else {
+                current = current.right;
+            }
+        }
+        return result;
+    }
+
+    // number of elements in [lo, hi]
+    public int countInRange(T lo, T hi) {
+        if (lo.compareTo(hi) > 0) return 0;
+        int count = rank(hi) - rank(lo);
+        return contains(hi) ? count + 1 : count;
+    }
+
+    // builds a perfectly balanced tree in O(n); elements must be strictly ascending,
+    // which is checked with n - 1 compareTo calls
+    public static <T extends Comparable<T>> BinarySearchTree<T> fromSorted(List<? extends T> sorted) {
+        Object[] elements = sorted.toArray();
+        checkSorted(elements);
+        return fromSortedArray(elements, elements.length);
+    }
+
+    // fromSorted without the order check: no compareTo calls at all. Only for trusted
+    // input (e.g. another tree's in-order output); an unsorted list gives a broken tree
+    public static <T extends Comparable<T>> BinarySearchTree<T> fromSortedUnchecked(List<? extends T> sorted) {
+        Object[] elements = sorted.toArray();
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i] == null) throw new IllegalArgumentException("Cannot be insert element null");
+        }
+        return fromSortedArray(elements, elements.length);
+    }
+
+    private static <T extends Comparable<T>> void checkSorted(Object[] elements) {
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i] == null) throw new IllegalArgumentException("Cannot be insert element null");
+        }
+        for (int i = 1; i < elements.length; i++) {
+            if (compare(elements[i - 1], elements[i]) >= 0) {
+                throw new IllegalArgumentException("Elements must be strictly ascending at index " + i);
+            }
+        }
+    }
+
+    private static <T extends Comparable<T>> BinarySearchTree<T> fromSortedArray(Object[] elements, int count) {
+        BinarySearchTree<T> tree = new BinarySearchTree<>();
+        tree.root = build(elements, 0, count - 1);
+        tree.size = count;
+        tree.height = 32 - Integer.numberOfLeadingZeros(count);
+        return tree;
+    }
+
+    // recursion depth is log2(n)
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T> build(Object[] elements, int from, int to) {
+        if (from > to) return null;
+        int mid = (from + to) >>> 1;
+        Node<T> node = new Node<>((T) elements[mid]);
+        node.left = build(elements, from, mid - 1);
+        node.right = build(elements, mid + 1, to);
+        node.size = to - from + 1;
+        return node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<T>> int compare(Object a, Object b) {
+        return ((T) a).compareTo((T) b);
     }
-    private T findMinRecursive(Node<T> current){
-        if (current.left == null) return current.data;
-        return findMinRecursive(current.left);
+
+    // merges a strictly ascending batch in O(n + m) and rebuilds the tree balanced
+    public void addAll(List<? extends T> sortedBatch) {
+        if (sortedBatch.isEmpty()) return;
+        if ((long) sortedBatch.size() * BULK_RATIO < size) {
+            // a small batch into a large tree: separate descents are cheaper than a rebuild;
+            // validated first so both paths reject the same batches and leave the tree as is
+            checkSorted(sortedBatch.toArray());
+            for (T element : sortedBatch) insert(element);
+            return;
+        }
+        BinarySearchTree<T> batch = fromSorted(sortedBatch);
+        BinarySearchTree<T> merged = union(batch);
+        root = merged.root;
+        size = merged.size;
+        height = merged.height;
     }
+
+    public BinarySearchTree<T> union(BinarySearchTree<T> other) {
+        return combine(other, UNION);
+    }
+
+    public BinarySearchTree<T> intersection(BinarySearchTree<T> other) {
+        return combine(other, INTERSECTION);
+    }
+
+    // elements of this tree that are not in other
+    public BinarySearchTree<T> difference(BinarySearchTree<T> other) {
+        return combine(other, DIFFERENCE);
+    }
+
+    // both trees are left untouched, the result is a new balanced tree
+    private BinarySearchTree<T> combine(BinarySearchTree<T> other, int operation) {
+        int total = size + other.size;
+        int parts = Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, total / (PARALLEL_THRESHOLD / 4));
+        if (total < PARALLEL_THRESHOLD || parts < 2) {
+            Object[] result = new Object[total];
+            int count = mergeRange(other, null, null, operation, result);
+            return fromSortedArray(result, count);
+        }
+
+        // cut both trees at the same pivots and merge the slices on the fork-join pool
+        BinarySearchTree<T> larger = size >= other.size ? this : other;
+        List<T> pivots = new ArrayList<>();
+        for (int i = 1; i < parts; i++) {
+            T pivot = larger.select((int) ((long) larger.size * i / parts));
+            if (pivots.isEmpty() || pivots.get(pivots.size() - 1).compareTo(pivot) < 0) pivots.add(pivot);
+        }
+        List<ForkJoinTask<Object[]>> tasks = new ArrayList<>();
+        for (int i = 0; i <= pivots.size(); i++) {
+            T lo = i == 0 ? null : pivots.get(i - 1);
+            T hi = i == pivots.size() ? null : pivots.get(i);
+            tasks.add(ForkJoinTask.adapt(() -> {
+                Object[] slice = new Object[sliceCapacity(lo, hi) + other.sliceCapacity(lo, hi)];
+                int count = mergeRange(other, lo, hi, operation, slice);
+                return Arrays.copyOf(slice, count);
+            }));
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        int count = 0;
+        for (ForkJoinTask<Object[]> task : tasks) count += task.join().length;
+        Object[] result = new Object[count];
+        int offset = 0;
+        for (ForkJoinTask<Object[]> task : tasks) {
+            Object[] slice = task.join();
+            System.arraycopy(slice, 0, result, offset, slice.length);
+            offset += slice.length;
+        }
+        return fromSortedArray(result, count);
+    }
+
+    // number of elements in [lo, hi), null bounds are open
+    private int sliceCapacity(T lo, T hi) {
+        return (hi == null ? size : rank(hi)) - (lo == null ? 0 : rank(lo));
+    }
+
+    // linear merge of the [lo, hi) slices of both trees into out
+    private int mergeRange(BinarySearchTree<T> other, T lo, T hi, int operation, Object[] out) {
+        Iterator<T> a = new RangeIterator(lo, hi, false);
+        Iterator<T> b = other.new RangeIterator(lo, hi, false);
+        T x = a.hasNext() ? a.next() : null;
+        T y = b.hasNext() ? b.next() : null;
+        int count = 0;
+        while (x != null && y != null) {
+            int cmp = x.compareTo(y);
+            if (cmp < 0) {
+                if (operation != INTERSECTION) out[count++] = x;
+                x = a.hasNext() ? a.next() : null;
+            } else if (cmp > 0) {
+                if (operation == UNION) out[count++] = y;
+                y = b.hasNext() ? b.next() : null;
+            } else {
+                if (operation != DIFFERENCE) out[count++] = x;
+                x = a.hasNext() ? a.next() : null;
+                y = b.hasNext() ? b.next() : null;
+            }
+        }
+        if (operation != INTERSECTION) {
+            for (; x != null; x = a.hasNext() ? a.next() : null) out[count++] = x;
+        }
+        if (operation == UNION) {
+            for (; y != null; y = b.hasNext() ? b.next() : null) out[count++] = y;
+        }
+        return count;
+    }
+
     public int size() {
         return size;
     }
@@ -97,6 +402,7 @@ public class BinarySearchTree <T extends Comparable<T>> implements Iterable<T> {
     public void clear() {
         root = null;
         size = 0;
+        height = 0;
     }   
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -108,11 +414,141 @@ public class BinarySearchTree <T extends Comparable<T>> implements Iterable<T> {
         sb.append("]");
         return sb.toString();
     }
+
+    // lazy in-order iterator over [lo, hi], starts at lo without scanning smaller elements
+    public Iterator<T> rangeIterator(T lo, T hi) {
+        if (lo == null || hi == null) throw new IllegalArgumentException("Range bounds cannot be null");
+        return new RangeIterator(lo, hi, true);
+    }
+
+    // null bounds are open; hi may be inclusive or exclusive
+    private final class RangeIterator implements Iterator<T> {
+        private final T lo;
+        private final T hi;
+        private final boolean hiInclusive;
+        @SuppressWarnings("unchecked")
+        private final Node<T>[] stack = (Node<T>[]) new Node[height];
+        private int top;
+
+        RangeIterator(T lo, T hi, boolean hiInclusive) {
+            this.lo = lo;
+            this.hi = hi;
+            this.hiInclusive = hiInclusive;
+            pushFrom(root);
+        }
+
+        // push the path of nodes >= lo, skipping subtrees entirely below lo
+        private void pushFrom(Node<T> node) {
+            while (node != null) {
+                if (lo != null && node.data.compareTo(lo) < 0) {
+                    node = node.right;
+                } else {
+                    stack[top++] = node;
+                    node = node.left;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (top == 0) return false;
+            if (hi == null) return true;
+            int cmp = stack[top - 1].data.compareTo(hi);
+            return hiInclusive ? cmp <= 0 : cmp < 0;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Node<T> node = stack[--top];
+            stack[top] = null;
+            if (node.right != null) pushFrom(node.right);
+            return node.data;
+        }
+    }
     
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new RankSpliterator(0, size);
+    }
+
+    // covers the elements with ranks [from, to); splits at the middle rank,
+    // the traversal starts at select(from) and runs through the range iterator
+    private final class RankSpliterator implements Spliterator<T> {
+        private int from;
+        private final int to;
+        private Iterator<T> iterator;
+
+        RankSpliterator(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        private Iterator<T> iterator() {
+            if (iterator == null) iterator = new RangeIterator(select(from), null, false);
+            return iterator;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (from >= to) return false;
+            T element = iterator().next();
+            from++;
+            action.accept(element);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (from >= to) return;
+            Iterator<T> it = iterator();
+            while (from < to) {
+                from++;
+                action.accept(it.next());
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int mid = (from + to) >>> 1;
+            if (iterator != null || mid <= from) return null;
+            Spliterator<T> prefix = new RankSpliterator(from, mid);
+            from = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SORTED | DISTINCT | NONNULL | SIZED | SUBSIZED;
+        }
+
+        @Override
+        public Comparator<? super T> getComparator() {
+            // natural order
+            return null;
+        }
+    }
+
     @Override
     public Iterator<T> iterator() {
         return new Iterator<T>() {
-            private final Stack<Node<T>> stack = new Stack<>();
+            // the path from the root never exceeds the height bound
+            @SuppressWarnings("unchecked")
+            private final Node<T>[] stack = (Node<T>[]) new Node[height];
+            private int top;
 
             {
                 pushLeft(root);
@@ -120,19 +556,21 @@ public class BinarySearchTree <T extends Comparable<T>> implements Iterable<T> {
 
             private void pushLeft(Node<T> node) {
                 while (node != null) {
-                    stack.push(node);
+                    stack[top++] = node;
                     node = node.left;
                 }
             }
 
             @Override
             public boolean hasNext() {
-                return !stack.isEmpty();
+                return top > 0;
             }
 
             @Override
             public T next() {
-                Node<T> node = stack.pop();
+                if (top == 0) throw new NoSuchElementException();
+                Node<T> node = stack[--top];
+                stack[top] = null;
                 if (node.right != null) pushLeft(node.right);
                 return node.data;
             }
@@ -0,0 +1,767 @@
+package io.jfxdevelop;
+
+import java.util.*;
+
+/**
+ * Ограниченный по размеру (или весу) кэш на основе хеш-таблицы с методом цепочек.
+ * Хеширование и массив бакетов устроены так же, как в {@link HashTable},
+ * дополнительно каждый элемент входит в двусвязную очередь доступа.
+ * Поддерживаются две политики вытеснения:
+ * LRU - вытесняется давно не использованный элемент;
+ * TINY_LFU - приближенный W-TinyLFU: маленькое LRU-окно для новых элементов
+ * и основная сегментированная LRU-область, куда кандидат из окна допускается
+ * только если по частотному скетчу он популярнее вытесняемого элемента
+ *
+ * @param <K> тип ключей
+ * @param <V> тип значений
+ */
+public class CacheTable<K, V> implements Iterable<K> {
+
+    /**
+     * Политика вытеснения
+     */
+    public enum EvictionPolicy {
+        LRU,
+        TINY_LFU
+    }
+
+    /**
+     * Вычисление веса элемента
+     */
+    @FunctionalInterface
+    public interface Weigher<K, V> {
+        int weigh(K key, V value);
+    }
+
+    /**
+     * Слушатель вытеснения элементов
+     */
+    @FunctionalInterface
+    public interface EvictionListener<K, V> {
+        void onEviction(K key, V value);
+    }
+
+    // Области очереди доступа
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+    private static final byte REMOVED = 3;
+
+    /**
+     * Внутренний класс для представления элемента кэша
+     */
+    private static class Entry<K, V> {
+        final K key;
+        final int hash;
+        V value;
+        int weight;
+        byte region;
+        Entry<K, V> next;     // цепочка бакета
+        Entry<K, V> before;   // очередь доступа
+        Entry<K, V> after;
+
+        Entry(K key, int hash, V value, int weight) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.weight = weight;
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    /**
+     * Двусвязная очередь доступа: в начале - давно использованные элементы
+     */
+    private static final class AccessQueue<K, V> {
+        Entry<K, V> head;
+        Entry<K, V> tail;
+        long weight;
+
+        void addLast(Entry<K, V> entry) {
+            entry.before = tail;
+            entry.after = null;
+            if (tail == null) {
+                head = entry;
+            } else {
+                tail.after = entry;
+            }
+            tail = entry;
+            weight += entry.weight;
+        }
+
+        void remove(Entry<K, V> entry) {
+            if (entry.before == null) {
+                head = entry.after;
+            } else {
+                entry.before.after = entry.after;
+            }
+            if (entry.after == null) {
+                tail = entry.before;
+            } else {
+                entry.after.before = entry.before;
+            }
+            entry.before = null;
+            entry.after = null;
+            weight -= entry.weight;
+        }
+
+        void moveToLast(Entry<K, V> entry) {
+            if (entry != tail) {
+                remove(entry);
+                addLast(entry);
+            }
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+            weight = 0;
+        }
+    }
+
+    /**
+     * Count-min скетч из 4-битных счетчиков (16 счетчиков в одном long)
+     * с периодическим старением: после sampleSize событий все счетчики делятся пополам
+     */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+        };
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(long maxWeight) {
+            int length = (int) Math.min(Math.max(Long.highestOneBit(Math.max(maxWeight, 16) - 1) << 1, 16), 1 << 24);
+            this.table = new long[length];
+            this.sampleSize = 10 * length;
+        }
+
+        private int indexOf(int hash, int depth) {
+            long h = (hash + SEEDS[depth]) * SEEDS[depth];
+            h += h >>> 32;
+            return (int) h & (table.length - 1);
+        }
+
+        private static int offsetOf(int hash, int depth) {
+            return ((depth << 2) + ((hash >>> (depth << 3)) & 3)) << 2;
+        }
+
+        int frequency(int hash) {
+            int frequency = Integer.MAX_VALUE;
+            for (int depth = 0; depth < 4; depth++) {
+                int count = (int) ((table[indexOf(hash, depth)] >>> offsetOf(hash, depth)) & 0xfL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        void increment(int hash) {
+            boolean added = false;
+            for (int depth = 0; depth < 4; depth++) {
+                int index = indexOf(hash, depth);
+                int offset = offsetOf(hash, depth);
+                if (((table[index] >>> offset) & 0xfL) != 0xfL) {
+                    table[index] += 1L << offset;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                for (int i = 0; i < table.length; i++) {
+                    table[i] = (table[i] >>> 1) & RESET_MASK;
+                }
+                additions >>>= 1;
+            }
+        }
+
+        void clear() {
+            Arrays.fill(table, 0L);
+            additions = 0;
+        }
+    }
+
+    // Основные поля
+    private Entry<K, V>[] buckets;
+    private int size;
+    private int capacity;
+    private final long maxWeight;
+    private final Weigher<? super K, ? super V> weigher;
+    private final EvictionPolicy policy;
+    private EvictionListener<? super K, ? super V> evictionListener;
+
+    // Очереди доступа (в режиме LRU используется только window)
+    private final AccessQueue<K, V> window = new AccessQueue<>();
+    private final AccessQueue<K, V> probation = new AccessQueue<>();
+    private final AccessQueue<K, V> protectedQueue = new AccessQueue<>();
+    private final long windowMaxWeight;
+    private final long protectedMaxWeight;
+    private final FrequencySketch sketch;
+
+    // Статистика
+    private int resizeCount;
+    private int collisionCount;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    // Константы
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final double LOAD_FACTOR = 0.75;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final double WINDOW_RATIO = 0.01;
+    private static final double PROTECTED_RATIO = 0.8;
+
+    /**
+     * Кэш на maxSize элементов с вытеснением LRU
+     * @param maxSize максимальное количество элементов
+     * @throws IllegalArgumentException если maxSize <= 0
+     */
+    public CacheTable(long maxSize) {
+        this(maxSize, EvictionPolicy.LRU);
+    }
+
+    /**
+     * Кэш на maxSize элементов с заданной политикой вытеснения
+     * @param maxSize максимальное количество элементов
+     * @param policy политика вытеснения
+     * @throws IllegalArgumentException если maxSize <= 0
+     */
+    public CacheTable(long maxSize, EvictionPolicy policy) {
+        this(maxSize, (key, value) -> 1, policy);
+    }
+
+    /**
+     * Кэш с ограничением по суммарному весу элементов
+     * @param maxWeight максимальный суммарный вес
+     * @param weigher функция веса элемента (вес >= 0)
+     * @param policy политика вытеснения
+     * @throws IllegalArgumentException если maxWeight <= 0
+     */
+    @SuppressWarnings("unchecked")
+    public CacheTable(long maxWeight, Weigher<? super K, ? super V> weigher, EvictionPolicy policy) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Maximum weight must be greater than 0");
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = Objects.requireNonNull(weigher);
+        this.policy = Objects.requireNonNull(policy);
+        this.capacity = DEFAULT_CAPACITY;
+        this.buckets = (Entry<K, V>[]) new Entry[capacity];
+
+        if (policy == EvictionPolicy.TINY_LFU) {
+            this.windowMaxWeight = Math.max(1, (long) (maxWeight * WINDOW_RATIO));
+            this.protectedMaxWeight = (long) ((maxWeight - windowMaxWeight) * PROTECTED_RATIO);
+            this.sketch = new FrequencySketch(maxWeight);
+        } else {
+            this.windowMaxWeight = maxWeight;
+            this.protectedMaxWeight = 0;
+            this.sketch = null;
+        }
+    }
+
+    /**
+     * Установка слушателя вытеснения
+     * @param listener слушатель или null
+     */
+    public void setEvictionListener(EvictionListener<? super K, ? super V> listener) {
+        this.evictionListener = listener;
+    }
+
+    /**
+     * Вычисление хеша для ключа
+     * @param key ключ
+     * @return распределенный хеш
+     */
+    private static int spread(Object key) {
+        int h = key.hashCode();
+        // Распределение хеша для лучшего распределения
+        return h ^ (h >>> 16);
+    }
+
+    private Entry<K, V> findEntry(Object key, int h) {
+        Entry<K, V> current = buckets[h & (capacity - 1)];
+        while (current != null) {
+            if (current.hash == h && current.key.equals(key)) {
+                return current;
+            }
+            current = current.next;
+        }
+        return null;
+    }
+
+    /**
+     * Добавление пары ключ-значение; при превышении лимита
+     * вытесняются элементы согласно политике
+     * @param key ключ
+     * @param value значение
+     * @throws IllegalArgumentException если ключ или значение null
+     */
+    public void put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null");
+        }
+        int weight = weigher.weigh(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight cannot be negative");
+        }
+
+        int h = spread(key);
+        if (sketch != null) {
+            sketch.increment(h);
+        }
+
+        Entry<K, V> existing = findEntry(key, h);
+        if (existing != null) {
+            AccessQueue<K, V> queue = queueOf(existing);
+            queue.weight += weight - existing.weight;
+            existing.weight = weight;
+            existing.value = value;
+            onAccess(existing);
+            evict();
+            return;
+        }
+
+        Entry<K, V> entry = new Entry<>(key, h, value, weight);
+        int index = h & (capacity - 1);
+        if (buckets[index] != null) {
+            collisionCount++;
+        }
+        entry.next = buckets[index];
+        buckets[index] = entry;
+        size++;
+
+        entry.region = WINDOW;
+        window.addLast(entry);
+
+        if ((double) size / capacity > LOAD_FACTOR) {
+            resize();
+        }
+        evict();
+    }
+
+    /**
+     * Получение значения по ключу с учетом попадания/промаха
+     * @param key ключ
+     * @return значение или null если ключ не найден
+     * @throws IllegalArgumentException если ключ null
+     */
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        int h = spread(key);
+        if (sketch != null) {
+            sketch.increment(h);
+        }
+        Entry<K, V> entry = findEntry(key, h);
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        onAccess(entry);
+        return entry.value;
+    }
+
+    /**
+     * Получение значения по ключу или значения по умолчанию
+     * @param key ключ
+     * @param defaultValue значение по умолчанию
+     * @return значение или defaultValue если ключ не найден
+     */
+    public V getOrDefault(K key, V defaultValue) {
+        V value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Удаление элемента по ключу (слушатель вытеснения не вызывается)
+     * @param key ключ
+     * @return удаленное значение или null если ключ не найден
+     * @throws IllegalArgumentException если ключ null
+     */
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        Entry<K, V> entry = findEntry(key, spread(key));
+        if (entry == null) {
+            return null;
+        }
+        removeEntry(entry);
+        return entry.value;
+    }
+
+    /**
+     * Проверка наличия ключа без изменения порядка доступа и статистики
+     * @param key ключ
+     * @return true если ключ существует
+     */
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        return findEntry(key, spread(key)) != null;
+    }
+
+    /**
+     * @return количество элементов
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return суммарный вес элементов
+     */
+    public long weightedSize() {
+        return window.weight + probation.weight + protectedQueue.weight;
+    }
+
+    /**
+     * @return максимальный суммарный вес
+     */
+    public long maxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * @return true если кэш пуст
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Очистка кэша (слушатель вытеснения не вызывается)
+     */
+    @SuppressWarnings("unchecked")
+    public void clear() {
+        this.buckets = (Entry<K, V>[]) new Entry[capacity];
+        this.size = 0;
+        this.collisionCount = 0;
+        window.clear();
+        probation.clear();
+        protectedQueue.clear();
+        if (sketch != null) {
+            sketch.clear();
+        }
+    }
+
+    private AccessQueue<K, V> queueOf(Entry<K, V> entry) {
+        switch (entry.region) {
+            case PROBATION:
+                return probation;
+            case PROTECTED:
+                return protectedQueue;
+            default:
+                return window;
+        }
+    }
+
+    /**
+     * Обновление положения элемента в очередях при обращении
+     * @param entry элемент
+     */
+    private void onAccess(Entry<K, V> entry) {
+        if (entry.region == PROBATION) {
+            // Повторное обращение переводит элемент в защищенную область
+            probation.remove(entry);
+            entry.region = PROTECTED;
+            protectedQueue.addLast(entry);
+            while (protectedQueue.weight > protectedMaxWeight && protectedQueue.head != null) {
+                Entry<K, V> demoted = protectedQueue.head;
+                protectedQueue.remove(demoted);
+                demoted.region = PROBATION;
+                probation.addLast(demoted);
+            }
+        } else {
+            queueOf(entry).moveToLast(entry);
+        }
+    }
+
+    /**
+     * Вытеснение элементов до соблюдения лимита веса
+     */
+    private void evict() {
+        if (policy == EvictionPolicy.LRU) {
+            while (window.weight > maxWeight) {
+                evictEntry(window.head);
+            }
+            return;
+        }
+
+        // Элементы, вышедшие из окна, становятся кандидатами в основную область
+        Entry<K, V> firstCandidate = null;
+        while (window.weight > windowMaxWeight) {
+            Entry<K, V> candidate = window.head;
+            window.remove(candidate);
+            candidate.region = PROBATION;
+            probation.addLast(candidate);
+            if (firstCandidate == null) {
+                firstCandidate = candidate;
+            }
+        }
+
+        while (weightedSize() > maxWeight) {
+            Entry<K, V> victim = probation.head;
+            Entry<K, V> candidate = firstCandidate;
+            if (victim == null) {
+                victim = protectedQueue.head != null ? protectedQueue.head : window.head;
+                evictEntry(victim);
+                continue;
+            }
+            if (candidate == null || candidate.region != PROBATION) {
+                evictEntry(victim);
+                continue;
+            }
+            if (candidate == victim) {
+                // Кандидат сам оказался жертвой: следующим кандидатом становится элемент за ним
+                firstCandidate = candidate.after;
+                evictEntry(victim);
+                continue;
+            }
+            // Допускается более частый из кандидата и жертвы
+            firstCandidate = candidate.after;
+            if (sketch.frequency(candidate.hash) > sketch.frequency(victim.hash)) {
+                evictEntry(victim);
+            } else {
+                evictEntry(candidate);
+            }
+        }
+    }
+
+    private void evictEntry(Entry<K, V> entry) {
+        removeEntry(entry);
+        evictionCount++;
+        if (evictionListener != null) {
+            evictionListener.onEviction(entry.key, entry.value);
+        }
+    }
+
+    /**
+     * Удаление элемента из бакета и из очереди доступа
+     * @param entry элемент
+     */
+    private void removeEntry(Entry<K, V> entry) {
+        int index = entry.hash & (capacity - 1);
+        Entry<K, V> current = buckets[index];
+        Entry<K, V> previous = null;
+        while (current != entry) {
+            if (current == null) {
+                throw new IllegalStateException("Entry is not in the table");
+            }
+            previous = current;
+            current = current.next;
+        }
+        if (previous == null) {
+            buckets[index] = entry.next;
+        } else {
+            previous.next = entry.next;
+        }
+        entry.next = null;
+        queueOf(entry).remove(entry);
+        // Устаревшая ссылка на удаленный элемент больше не проходит проверку region
+        entry.region = REMOVED;
+        size--;
+    }
+
+    /**
+     * Изменение размера массива бакетов при превышении load factor.
+     * Элементы перевешиваются без пересоздания, очереди доступа не меняются
+     */
+    @SuppressWarnings("unchecked")
+    private void resize() {
+        if (capacity >= MAX_CAPACITY) {
+            return;
+        }
+
+        Entry<K, V>[] oldBuckets = buckets;
+        capacity *= 2;
+        buckets = (Entry<K, V>[]) new Entry[capacity];
+        collisionCount = 0;
+
+        for (Entry<K, V> bucket : oldBuckets) {
+            Entry<K, V> current = bucket;
+            while (current != null) {
+                Entry<K, V> next = current.next;
+                int index = current.hash & (capacity - 1);
+                if (buckets[index] != null) {
+                    collisionCount++;
+                }
+                current.next = buckets[index];
+                buckets[index] = current;
+                current = next;
+            }
+        }
+
+        resizeCount++;
+    }
+
+    /**
+     * Получение всех ключей в порядке от давно использованных к недавним
+     * (для TINY_LFU: основная область, затем окно)
+     * @return список ключей
+     */
+    public List<K> keys() {
+        List<K> keys = new ArrayList<>(size);
+        for (K key : this) {
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    /**
+     * Получение всех значений
+     * @return список значений
+     */
+    public List<V> values() {
+        List<V> values = new ArrayList<>(size);
+        for (Entry<K, V> entry : orderedEntries()) {
+            values.add(entry.value);
+        }
+        return values;
+    }
+
+    /**
+     * Получение всех записей
+     * @return список записей
+     */
+    public List<Map.Entry<K, V>> entries() {
+        List<Map.Entry<K, V>> entries = new ArrayList<>(size);
+        for (Entry<K, V> entry : orderedEntries()) {
+            entries.add(new AbstractMap.SimpleEntry<>(entry.key, entry.value));
+        }
+        return entries;
+    }
+
+    private List<Entry<K, V>> orderedEntries() {
+        List<Entry<K, V>> entries = new ArrayList<>(size);
+        for (AccessQueue<K, V> queue : List.of(probation, protectedQueue, window)) {
+            for (Entry<K, V> current = queue.head; current != null; current = current.after) {
+                entries.add(current);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Итератор по ключам (обход не считается обращением)
+     * @return итератор
+     */
+    @Override
+    public Iterator<K> iterator() {
+        Iterator<Entry<K, V>> entries = orderedEntries().iterator();
+        return new Iterator<K>() {
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+
+            @Override
+            public K next() {
+                return entries.next().key;
+            }
+        };
+    }
+
+    /**
+     * @return количество попаданий
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return количество промахов
+     */
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * @return количество вытесненных элементов
+     */
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return доля попаданий среди обращений get
+     */
+    public double hitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * Вывод статистики кэша
+     */
+    public void printStatistics() {
+        int maxChainLength = 0;
+        for (Entry<K, V> bucket : buckets) {
+            int length = 0;
+            for (Entry<K, V> current = bucket; current != null; current = current.next) {
+                length++;
+            }
+            maxChainLength = Math.max(maxChainLength, length);
+        }
+
+        System.out.println("=== CacheTable Statistics ===");
+        System.out.println("Policy: " + policy);
+        System.out.println("Size: " + size);
+        System.out.println("Weighted size: " + weightedSize() + "/" + maxWeight);
+        System.out.println("Capacity: " + capacity);
+        System.out.println("Load factor: " + String.format("%.2f", (double) size / capacity));
+        System.out.println("Max chain length: " + maxChainLength);
+        System.out.println("Collisions: " + collisionCount);
+        System.out.println("Resizes: " + resizeCount);
+        System.out.println("Hits: " + hitCount);
+        System.out.println("Misses: " + missCount);
+        System.out.println("Hit rate: " + String.format("%.2f", hitRate()));
+        System.out.println("Evictions: " + evictionCount);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        boolean first = true;
+        for (Entry<K, V> entry : orderedEntries()) {
+            if (!first) {
+                sb.append(", ");
+            }
+            sb.append(entry.key).append("=").append(entry.value);
+            first = false;
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    // Методы для тестирования и отладки
+
+    /**
+     * Получить текущую емкость (для тестирования)
+     * @return емкость
+     */
+    int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Получить количество коллизий (для тестирования)
+     * @return количество коллизий
+     */
+    int getCollisionCount() {
+        return collisionCount;
+    }
+}
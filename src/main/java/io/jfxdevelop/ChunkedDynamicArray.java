@@ -0,0 +1,207 @@
+package io.jfxdevelop;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+// DynamicArray over a directory of fixed-size chunks: growing allocates one more
+// chunk and never copies elements, get/set are a shift and a mask
+public class ChunkedDynamicArray<T> implements Iterable<T> {
+
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int DEFAULT_DIRECTORY = 4;
+
+    private Object[][] chunks;
+    private int chunkCount;
+    private int size;
+
+
+    public ChunkedDynamicArray() {
+        this.chunks = new Object[DEFAULT_DIRECTORY][];
+        this.chunkCount = 0;
+        this.size = 0;
+    }
+
+    public ChunkedDynamicArray(int initCapacity) {
+
+        if (initCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be greater than 0");
+        }
+
+        int needed = (int) (((long) initCapacity + CHUNK_MASK) >>> CHUNK_SHIFT);
+        chunks = new Object[Math.max(needed, DEFAULT_DIRECTORY)][];
+        while (chunkCount < needed) {
+            chunks[chunkCount++] = new Object[CHUNK_SIZE];
+        }
+        size = 0;
+    }
+
+    public void add(T element) {
+        if (size == capacity()) {
+            addChunk();
+        }
+        chunks[size >>> CHUNK_SHIFT][size & CHUNK_MASK] = element;
+        size++;
+    }
+
+    // the directory holds one reference per 4096 elements, so doubling it stays cheap
+    private void addChunk() {
+        if (size == Integer.MAX_VALUE) {
+            throw new OutOfMemoryError("Array size limit reached");
+        }
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+        }
+        chunks[chunkCount++] = new Object[CHUNK_SIZE];
+    }
+
+    public void insert(int index, T element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index out of bounds");
+        }
+        if (size == capacity()) {
+            addChunk();
+        }
+        shiftRight(index);
+        chunks[index >>> CHUNK_SHIFT][index & CHUNK_MASK] = element;
+        size++;
+    }
+
+    // moves [index, size) one slot right, carrying the last element of each chunk into the next
+    private void shiftRight(int index) {
+        int last = size;
+        int lastChunk = last >>> CHUNK_SHIFT;
+        int firstChunk = index >>> CHUNK_SHIFT;
+        for (int k = lastChunk; k > firstChunk; k--) {
+            Object[] chunk = chunks[k];
+            int end = k == lastChunk ? last & CHUNK_MASK : CHUNK_MASK;
+            System.arraycopy(chunk, 0, chunk, 1, end);
+            chunk[0] = chunks[k - 1][CHUNK_MASK];
+        }
+        Object[] chunk = chunks[firstChunk];
+        int offset = index & CHUNK_MASK;
+        int end = firstChunk == lastChunk ? last & CHUNK_MASK : CHUNK_MASK;
+        System.arraycopy(chunk, offset, chunk, offset + 1, end - offset);
+    }
+
+    public T remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index out of bounds");
+        }
+
+        T removedElement = elementAt(index);
+        shiftLeft(index);
+        size--;
+        return removedElement;
+    }
+
+    // moves (index, size) one slot left and clears the freed last slot
+    private void shiftLeft(int index) {
+        int last = size - 1;
+        int lastChunk = last >>> CHUNK_SHIFT;
+        int firstChunk = index >>> CHUNK_SHIFT;
+        Object[] chunk = chunks[firstChunk];
+        int offset = index & CHUNK_MASK;
+        int end = firstChunk == lastChunk ? last & CHUNK_MASK : CHUNK_MASK;
+        System.arraycopy(chunk, offset + 1, chunk, offset, end - offset);
+        for (int k = firstChunk + 1; k <= lastChunk; k++) {
+            chunks[k - 1][CHUNK_MASK] = chunks[k][0];
+            end = k == lastChunk ? last & CHUNK_MASK : CHUNK_MASK;
+            System.arraycopy(chunks[k], 1, chunks[k], 0, end);
+        }
+        chunks[lastChunk][last & CHUNK_MASK] = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int index) {
+        return (T) chunks[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index out of bounds");
+        }
+        return elementAt(index);
+    }
+    public void set(int index, T element) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index out of bounds");
+        }
+        chunks[index >>> CHUNK_SHIFT][index & CHUNK_MASK] = element;
+    }
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return (int) Math.min((long) chunkCount << CHUNK_SHIFT, Integer.MAX_VALUE);
+    }
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    // keeps the first chunk, the rest become garbage immediately
+    public void clear() {
+        if (chunkCount > 0) {
+            Arrays.fill(chunks[0], null);
+        }
+        for (int k = 1; k < chunkCount; k++) {
+            chunks[k] = null;
+        }
+        chunkCount = Math.min(chunkCount, 1);
+        chunks = Arrays.copyOf(chunks, DEFAULT_DIRECTORY);
+        size = 0;
+    }
+    // releases the chunks past the last element
+    public void trimToSize() {
+        int needed = (size + CHUNK_MASK) >>> CHUNK_SHIFT;
+        for (int k = needed; k < chunkCount; k++) {
+            chunks[k] = null;
+        }
+        chunkCount = needed;
+        chunks = Arrays.copyOf(chunks, Math.max(needed, DEFAULT_DIRECTORY));
+    }
+    public int indexOf(T element) {
+        for (int k = 0; ((long) k << CHUNK_SHIFT) < size; k++) {
+            Object[] chunk = chunks[k];
+            int end = Math.min(CHUNK_SIZE, size - (k << CHUNK_SHIFT));
+            for (int i = 0; i < end; i++) {
+                if (Objects.equals(chunk[i], element)) {
+                    return (k << CHUNK_SHIFT) + i;
+                }
+            }
+        }
+        return -1;
+    }
+    public boolean contains(T element) {
+        return indexOf(element) != -1;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int index = 0;
+            public boolean hasNext() {
+                return index < size;
+            }
+            public T next() {
+                if (index >= size) throw new NoSuchElementException();
+                return elementAt(index++);
+            }
+        };
+    }
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        for(int i = 0; i < size; i++){
+            sb.append(elementAt(i));
+            if(i < size - 1){
+                sb.append(", ");
+            }
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,788 @@
+package io.jfxdevelop;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Потокобезопасная хеш-таблица с методом цепочек и разбиением на сегменты.
+ * Каждый сегмент имеет собственный массив бакетов и собственную блокировку,
+ * поэтому записи в разные сегменты не конкурируют друг с другом.
+ * Чтение не берет блокировку: массив бакетов, ссылки next и значения
+ * публикуются через volatile. Resize выполняется отдельно в каждом сегменте.
+ * Итераторы слабо согласованные и не бросают ConcurrentModificationException
+ *
+ * @param <K> тип ключей
+ * @param <V> тип значений
+ */
+public class ConcurrentHashTable<K, V> implements Iterable<K> {
+
+    /**
+     * Внутренний класс для представления элемента хеш-таблицы
+     */
+    private static final class Entry<K, V> {
+        final K key;
+        final int hash;
+        volatile V value;
+        volatile Entry<K, V> next;
+
+        Entry(K key, int hash, V value, Entry<K, V> next) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.next = next;
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    /**
+     * Сегмент таблицы: независимо блокируемая хеш-таблица
+     */
+    private static final class Segment<K, V> extends ReentrantLock {
+        volatile AtomicReferenceArray<Entry<K, V>> table;
+        volatile int count;
+        int resizeCount;
+
+        Segment(int capacity) {
+            this.table = new AtomicReferenceArray<>(capacity);
+        }
+    }
+
+    // Основные поля
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final int segmentShift;
+
+    // Константы
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+    private static final int MIN_SEGMENT_CAPACITY = 2;
+    private static final int MAX_SEGMENTS = 1 << 16;
+    private static final double LOAD_FACTOR = 0.75;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * Конструктор по умолчанию
+     */
+    public ConcurrentHashTable() {
+        this(DEFAULT_CAPACITY, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Конструктор с заданной начальной емкостью
+     * @param initialCapacity начальная емкость
+     * @throws IllegalArgumentException если емкость <= 0
+     */
+    public ConcurrentHashTable(int initialCapacity) {
+        this(initialCapacity, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Конструктор с заданной начальной емкостью и числом сегментов
+     * @param initialCapacity начальная емкость
+     * @param concurrencyLevel ожидаемое число одновременно пишущих потоков
+     * @throws IllegalArgumentException если емкость или уровень параллелизма <= 0
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentHashTable(int initialCapacity, int concurrencyLevel) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be greater than 0");
+        }
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("Concurrency level must be greater than 0");
+        }
+        int segmentCount = findNextPowerOfTwo(Math.min(concurrencyLevel, MAX_SEGMENTS));
+        int segmentCapacity = Math.max(findNextPowerOfTwo(initialCapacity / segmentCount), MIN_SEGMENT_CAPACITY);
+
+        this.segments = (Segment<K, V>[]) new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(segmentCapacity);
+        }
+        this.segmentMask = segmentCount - 1;
+        this.segmentShift = Integer.numberOfTrailingZeros(segmentCount);
+    }
+
+    /**
+     * Конструктор из существующей Map
+     * @param map исходная Map
+     */
+    public ConcurrentHashTable(Map<? extends K, ? extends V> map) {
+        this(Math.max((int) (map.size() / LOAD_FACTOR) + 1, DEFAULT_CAPACITY));
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Вычисление хеша для ключа
+     * @param key ключ
+     * @return распределенный хеш
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        // Распределение хеша для лучшего распределения
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Младшие биты хеша выбирают сегмент, следующие - бакет в сегменте
+     * @param h распределенный хеш
+     * @return сегмент
+     */
+    private Segment<K, V> segmentFor(int h) {
+        return segments[h & segmentMask];
+    }
+
+    /**
+     * @param h распределенный хеш
+     * @param table массив бакетов сегмента
+     * @return индекс бакета
+     */
+    private int bucketIndex(int h, AtomicReferenceArray<Entry<K, V>> table) {
+        return (h >>> segmentShift) & (table.length() - 1);
+    }
+
+    /**
+     * Поиск элемента без блокировки
+     * @param key ключ
+     * @param h распределенный хеш
+     * @return элемент или null
+     */
+    private Entry<K, V> findEntry(K key, int h) {
+        AtomicReferenceArray<Entry<K, V>> table = segmentFor(h).table;
+        Entry<K, V> current = table.get(bucketIndex(h, table));
+        while (current != null) {
+            if (current.hash == h && current.key.equals(key)) {
+                return current;
+            }
+            current = current.next;
+        }
+        return null;
+    }
+
+    /**
+     * Поиск элемента в сегменте (вызывается под блокировкой сегмента)
+     */
+    private Entry<K, V> findLocked(Segment<K, V> segment, K key, int h) {
+        AtomicReferenceArray<Entry<K, V>> table = segment.table;
+        Entry<K, V> current = table.get(bucketIndex(h, table));
+        while (current != null) {
+            if (current.hash == h && current.key.equals(key)) {
+                return current;
+            }
+            current = current.next;
+        }
+        return null;
+    }
+
+    /**
+     * Вставка нового элемента в начало цепочки (под блокировкой сегмента)
+     */
+    private void insertLocked(Segment<K, V> segment, K key, int h, V value) {
+        AtomicReferenceArray<Entry<K, V>> table = segment.table;
+        int index = bucketIndex(h, table);
+        table.set(index, new Entry<>(key, h, value, table.get(index)));
+        int count = segment.count + 1;
+        segment.count = count;
+        if ((double) count / table.length() > LOAD_FACTOR) {
+            rehash(segment);
+        }
+    }
+
+    /**
+     * Удаление элемента из цепочки (под блокировкой сегмента)
+     * @return удаленный элемент или null если ключ не найден
+     */
+    private Entry<K, V> unlinkLocked(Segment<K, V> segment, K key, int h) {
+        AtomicReferenceArray<Entry<K, V>> table = segment.table;
+        int index = bucketIndex(h, table);
+        Entry<K, V> current = table.get(index);
+        Entry<K, V> previous = null;
+
+        while (current != null) {
+            if (current.hash == h && current.key.equals(key)) {
+                if (previous == null) {
+                    table.set(index, current.next);
+                } else {
+                    previous.next = current.next;
+                }
+                segment.count = segment.count - 1;
+                return current;
+            }
+            previous = current;
+            current = current.next;
+        }
+        return null;
+    }
+
+    /**
+     * Добавление пары ключ-значение
+     * @param key ключ
+     * @param value значение
+     * @throws IllegalArgumentException если ключ или значение null
+     */
+    public void put(K key, V value) {
+        checkKey(key);
+        checkValue(value);
+        int h = hash(key);
+        Segment<K, V> segment = segmentFor(h);
+        segment.lock();
+        try {
+            Entry<K, V> existing = findLocked(segment, key, h);
+            if (existing != null) {
+                existing.value = value;
+            } else {
+                insertLocked(segment, key, h, value);
+            }
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Атомарное добавление, если ключ отсутствует
+     * @param key ключ
+     * @param value значение
+     * @return текущее значение или null если значение было добавлено
+     * @throws IllegalArgumentException если ключ или значение null
+     */
+    public V putIfAbsent(K key, V value) {
+        checkKey(key);
+        checkValue(value);
+        int h = hash(key);
+        Segment<K, V> segment = segmentFor(h);
+        segment.lock();
+        try {
+            Entry<K, V> existing = findLocked(segment, key, h);
+            if (existing != null) {
+                return existing.value;
+            }
+            insertLocked(segment, key, h, value);
+            return null;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Атомарное вычисление нового значения.
+     * Если функция вернула null, элемент удаляется
+     * @param key ключ
+     * @param remapping функция (ключ, текущее значение или null) -> новое значение
+     * @return новое значение или null если элемента больше нет
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+        checkKey(key);
+        Objects.requireNonNull(remapping);
+        int h = hash(key);
+        Segment<K, V> segment = segmentFor(h);
+        segment.lock();
+        try {
+            Entry<K, V> existing = findLocked(segment, key, h);
+            V newValue = remapping.apply(key, existing == null ? null : existing.value);
+            if (newValue == null) {
+                if (existing != null) {
+                    unlinkLocked(segment, key, h);
+                }
+            } else if (existing != null) {
+                existing.value = newValue;
+            } else {
+                insertLocked(segment, key, h, newValue);
+            }
+            return newValue;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Атомарное вычисление значения для отсутствующего ключа
+     * @param key ключ
+     * @param mapping функция ключ -> значение
+     * @return текущее или вычисленное значение
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mapping) {
+        checkKey(key);
+        Objects.requireNonNull(mapping);
+        int h = hash(key);
+        Entry<K, V> found = findEntry(key, h);
+        if (found != null) {
+            return found.value;
+        }
+        Segment<K, V> segment = segmentFor(h);
+        segment.lock();
+        try {
+            Entry<K, V> existing = findLocked(segment, key, h);
+            if (existing != null) {
+                return existing.value;
+            }
+            V newValue = mapping.apply(key);
+            if (newValue != null) {
+                insertLocked(segment, key, h, newValue);
+            }
+            return newValue;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Атомарное вычисление значения для существующего ключа
+     * @param key ключ
+     * @param remapping функция (ключ, текущее значение) -> новое значение
+     * @return новое значение или null если элемента нет
+     */
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+        checkKey(key);
+        Objects.requireNonNull(remapping);
+        int h = hash(key);
+        Segment<K, V> segment = segmentFor(h);
+        segment.lock();
+        try {
+            Entry<K, V> existing = findLocked(segment, key, h);
+            if (existing == null) {
+                return null;
+            }
+            V newValue = remapping.apply(key, existing.value);
+            if (newValue == null) {
+                unlinkLocked(segment, key, h);
+            } else {
+                existing.value = newValue;
+            }
+            return newValue;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Атомарное слияние значения с текущим
+     * @param key ключ
+     * @param value значение для отсутствующего ключа
+     * @param remapping функция (текущее значение, value) -> новое значение
+     * @return новое значение или null если элемент удален
+     * @throws IllegalArgumentException если ключ или значение null
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remapping) {
+        checkKey(key);
+        checkValue(value);
+        Objects.requireNonNull(remapping);
+        int h = hash(key);
+        Segment<K, V> segment = segmentFor(h);
+        segment.lock();
+        try {
+            Entry<K, V> existing = findLocked(segment, key, h);
+            if (existing == null) {
+                insertLocked(segment, key, h, value);
+                return value;
+            }
+            V newValue = remapping.apply(existing.value, value);
+            if (newValue == null) {
+                unlinkLocked(segment, key, h);
+            } else {
+                existing.value = newValue;
+            }
+            return newValue;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Получение значения по ключу без блокировки
+     * @param key ключ
+     * @return значение или null если ключ не найден
+     * @throws IllegalArgumentException если ключ null
+     */
+    public V get(K key) {
+        checkKey(key);
+        Entry<K, V> entry = findEntry(key, hash(key));
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * Получение значения по ключу или значения по умолчанию
+     * @param key ключ
+     * @param defaultValue значение по умолчанию
+     * @return значение или defaultValue если ключ не найден
+     */
+    public V getOrDefault(K key, V defaultValue) {
+        V value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Удаление элемента по ключу
+     * @param key ключ
+     * @return удаленное значение или null если ключ не найден
+     * @throws IllegalArgumentException если ключ null
+     */
+    public V remove(K key) {
+        checkKey(key);
+        int h = hash(key);
+        Segment<K, V> segment = segmentFor(h);
+        segment.lock();
+        try {
+            Entry<K, V> removed = unlinkLocked(segment, key, h);
+            return removed == null ? null : removed.value;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Проверка наличия ключа
+     * @param key ключ
+     * @return true если ключ существует
+     */
+    public boolean containsKey(K key) {
+        checkKey(key);
+        return findEntry(key, hash(key)) != null;
+    }
+
+    /**
+     * Проверка наличия значения
+     * @param value значение
+     * @return true если значение существует
+     */
+    public boolean containsValue(V value) {
+        for (V current : valuesIterable()) {
+            if (current.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return количество элементов (сумма счетчиков сегментов)
+     */
+    public int size() {
+        long total = 0;
+        for (Segment<K, V> segment : segments) {
+            total += segment.count;
+        }
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return true если таблица пуста
+     */
+    public boolean isEmpty() {
+        for (Segment<K, V> segment : segments) {
+            if (segment.count != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Очистка таблицы (сегменты очищаются по очереди)
+     */
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.lock();
+            try {
+                segment.table = new AtomicReferenceArray<>(segment.table.length());
+                segment.count = 0;
+            } finally {
+                segment.unlock();
+            }
+        }
+    }
+
+    /**
+     * Получение всех ключей
+     * @return список ключей
+     */
+    public List<K> keys() {
+        List<K> keys = new ArrayList<>();
+        for (K key : this) {
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    /**
+     * Получение всех значений
+     * @return список значений
+     */
+    public List<V> values() {
+        List<V> values = new ArrayList<>();
+        for (V value : valuesIterable()) {
+            values.add(value);
+        }
+        return values;
+    }
+
+    /**
+     * Получение всех записей
+     * @return список записей
+     */
+    public List<Map.Entry<K, V>> entries() {
+        List<Map.Entry<K, V>> entries = new ArrayList<>();
+        for (Map.Entry<K, V> entry : entriesIterable()) {
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    /**
+     * Слабо согласованный итератор по ключам
+     * @return итератор
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return new KeyIterator();
+    }
+
+    /**
+     * Итератор по значениям
+     * @return итерируемый объект
+     */
+    public Iterable<V> valuesIterable() {
+        return () -> new ValueIterator();
+    }
+
+    /**
+     * Итератор по записям
+     * @return итерируемый объект
+     */
+    public Iterable<Map.Entry<K, V>> entriesIterable() {
+        return () -> new EntryIterator();
+    }
+
+    /**
+     * Поток ключей
+     * @return поток ключей
+     */
+    public Stream<K> keyStream() {
+        return StreamSupport.stream(Spliterators.spliterator(iterator(), size(),
+                Spliterator.CONCURRENT | Spliterator.NONNULL | Spliterator.DISTINCT), false);
+    }
+
+    /**
+     * Поток значений
+     * @return поток значений
+     */
+    public Stream<V> valueStream() {
+        return StreamSupport.stream(Spliterators.spliterator(valuesIterable().iterator(), size(),
+                Spliterator.CONCURRENT | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Поток записей
+     * @return поток записей
+     */
+    public Stream<Map.Entry<K, V>> entryStream() {
+        return StreamSupport.stream(Spliterators.spliterator(entriesIterable().iterator(), size(),
+                Spliterator.CONCURRENT | Spliterator.NONNULL | Spliterator.DISTINCT), false);
+    }
+
+    /**
+     * Удвоение массива бакетов сегмента (под блокировкой сегмента).
+     * Элементы копируются, а не перевешиваются, поэтому читатели,
+     * успевшие получить старый массив, продолжают видеть целые цепочки
+     * @param segment сегмент
+     */
+    private void rehash(Segment<K, V> segment) {
+        AtomicReferenceArray<Entry<K, V>> oldTable = segment.table;
+        int oldCapacity = oldTable.length();
+        if ((long) oldCapacity * segments.length >= MAX_CAPACITY) {
+            return;
+        }
+
+        AtomicReferenceArray<Entry<K, V>> newTable = new AtomicReferenceArray<>(oldCapacity * 2);
+        for (int i = 0; i < oldCapacity; i++) {
+            Entry<K, V> current = oldTable.get(i);
+            while (current != null) {
+                int index = bucketIndex(current.hash, newTable);
+                newTable.lazySet(index, new Entry<>(current.key, current.hash, current.value, newTable.get(index)));
+                current = current.next;
+            }
+        }
+        segment.table = newTable;
+        segment.resizeCount++;
+    }
+
+    /**
+     * Поиск следующей степени двойки
+     * @param value исходное значение
+     * @return степень двойки
+     */
+    private static int findNextPowerOfTwo(int value) {
+        int power = 1;
+        while (power < value && power < MAX_CAPACITY) {
+            power <<= 1;
+        }
+        return power;
+    }
+
+    private static void checkKey(Object key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+    }
+
+    private static void checkValue(Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null");
+        }
+    }
+
+    /**
+     * Вывод статистики таблицы
+     */
+    public void printStatistics() {
+        long capacity = 0;
+        int maxChainLength = 0;
+        int resizeCount = 0;
+        int maxSegmentSize = 0;
+
+        for (Segment<K, V> segment : segments) {
+            AtomicReferenceArray<Entry<K, V>> table = segment.table;
+            capacity += table.length();
+            resizeCount += segment.resizeCount;
+            maxSegmentSize = Math.max(maxSegmentSize, segment.count);
+            for (int i = 0; i < table.length(); i++) {
+                int length = 0;
+                for (Entry<K, V> current = table.get(i); current != null; current = current.next) {
+                    length++;
+                }
+                maxChainLength = Math.max(maxChainLength, length);
+            }
+        }
+
+        int size = size();
+        double loadFactor = (double) size / capacity;
+
+        System.out.println("=== ConcurrentHashTable Statistics ===");
+        System.out.println("Size: " + size);
+        System.out.println("Segments: " + segments.length);
+        System.out.println("Capacity: " + capacity);
+        System.out.println("Load factor: " + String.format("%.2f", loadFactor));
+        System.out.println("Max segment size: " + maxSegmentSize);
+        System.out.println("Max chain length: " + maxChainLength);
+        System.out.println("Resizes: " + resizeCount);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        boolean first = true;
+
+        for (Map.Entry<K, V> entry : entriesIterable()) {
+            if (!first) {
+                sb.append(", ");
+            }
+            sb.append(entry.getKey()).append("=").append(entry.getValue());
+            first = false;
+        }
+
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /**
+     * Базовый слабо согласованный итератор: обходит сегменты по очереди,
+     * каждый раз читая актуальный массив бакетов сегмента
+     */
+    private abstract class ConcurrentIterator<T> implements Iterator<T> {
+        private int segmentIndex = 0;
+        private int bucketIndex = 0;
+        private AtomicReferenceArray<Entry<K, V>> table = segments[0].table;
+        private Entry<K, V> nextEntry;
+
+        ConcurrentIterator() {
+            advance();
+        }
+
+        private void advance() {
+            while (true) {
+                if (nextEntry != null) {
+                    nextEntry = nextEntry.next;
+                    if (nextEntry != null) {
+                        return;
+                    }
+                }
+                while (bucketIndex >= table.length()) {
+                    segmentIndex++;
+                    if (segmentIndex >= segments.length) {
+                        return;
+                    }
+                    table = segments[segmentIndex].table;
+                    bucketIndex = 0;
+                }
+                nextEntry = table.get(bucketIndex++);
+                if (nextEntry != null) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextEntry != null;
+        }
+
+        protected Entry<K, V> nextEntry() {
+            if (nextEntry == null) {
+                throw new NoSuchElementException("No more elements");
+            }
+            Entry<K, V> entry = nextEntry;
+            advance();
+            return entry;
+        }
+    }
+
+    /**
+     * Итератор по ключам
+     */
+    private class KeyIterator extends ConcurrentIterator<K> {
+        @Override
+        public K next() {
+            return nextEntry().key;
+        }
+    }
+
+    /**
+     * Итератор по значениям
+     */
+    private class ValueIterator extends ConcurrentIterator<V> {
+        @Override
+        public V next() {
+            return nextEntry().value;
+        }
+    }
+
+    /**
+     * Итератор по записям
+     */
+    private class EntryIterator extends ConcurrentIterator<Map.Entry<K, V>> {
+        @Override
+        public Map.Entry<K, V> next() {
+            Entry<K, V> entry = nextEntry();
+            return new AbstractMap.SimpleEntry<>(entry.key, entry.value);
+        }
+    }
+
+    // Методы для тестирования и отладки
+
+    /**
+     * Получить число сегментов (для тестирования)
+     * @return число сегментов
+     */
+    int getSegmentCount() {
+        return segments.length;
+    }
+}
@@ -0,0 +1,230 @@
+package io.jfxdevelop;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// Lock-free ordered set (Herlihy-Shavit skip list): a node is logically removed
+// once the mark on its bottom-level reference is set, and unlinked lazily by find
+public class ConcurrentSkipList <T extends Comparable<T>> implements Iterable<T> {
+    private static final int MAX_LEVEL = 32;
+
+    private static final class Node<T> {
+        final T data;
+        final AtomicMarkableReference<Node<T>>[] next;
+        final int topLevel;
+
+        @SuppressWarnings("unchecked")
+        Node(T data, int topLevel){
+            this.data = data;
+            this.topLevel = topLevel;
+            this.next = (AtomicMarkableReference<Node<T>>[]) new AtomicMarkableReference[topLevel + 1];
+        }
+    }
+
+    // sentinels compare as -infinity and +infinity by identity
+    private final Node<T> head;
+    private final Node<T> tail;
+    private final LongAdder size = new LongAdder();
+
+    public ConcurrentSkipList(){
+        head = new Node<>(null, MAX_LEVEL - 1);
+        tail = new Node<>(null, MAX_LEVEL - 1);
+        for (int level = 0; level < MAX_LEVEL; level++) {
+            head.next[level] = new AtomicMarkableReference<>(tail, false);
+            tail.next[level] = new AtomicMarkableReference<>(null, false);
+        }
+    }
+
+    private int compare(Node<T> node, T element) {
+        if (node == tail) return 1;
+        return node.data.compareTo(element);
+    }
+
+    private static int randomLevel() {
+        // geometric distribution with p = 1/2
+        int bits = ThreadLocalRandom.current().nextInt();
+        int level = Integer.numberOfTrailingZeros(bits);
+        return Math.min(level, MAX_LEVEL - 1);
+    }
+
+    // fills preds/succs at every level and unlinks marked nodes on the way
+    private boolean find(T element, Node<T>[] preds, Node<T>[] succs) {
+        boolean[] marked = {false};
+        retry:
+        while (true) {
+            Node<T> pred = head;
+            for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+                Node<T> curr = pred.next[level].getReference();
+                while (true) {
+                    Node<T> succ = curr.next[level].get(marked);
+                    while (marked[0]) {
+                        if (!pred.next[level].compareAndSet(curr, succ, false, false)) continue retry;
+                        curr = succ;
+                        succ = curr.next[level].get(marked);
+                    }
+                    if (compare(curr, element) < 0) {
+                        pred = curr;
+                        curr = succ;
+                    } else {
+                        break;
+                    }
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+            return compare(succs[0], element) == 0;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public boolean insert(T element){
+        if(element == null) throw new IllegalArgumentException("Cannot be insert element null");
+        int topLevel = randomLevel();
+        Node<T>[] preds = (Node<T>[]) new Node[MAX_LEVEL];
+        Node<T>[] succs = (Node<T>[]) new Node[MAX_LEVEL];
+        while (true) {
+            if (find(element, preds, succs)) return false;
+            Node<T> node = new Node<>(element, topLevel);
+            for (int level = 0; level <= topLevel; level++) {
+                node.next[level] = new AtomicMarkableReference<>(succs[level], false);
+            }
+            // the node becomes visible once linked at the bottom level
+            if (!preds[0].next[0].compareAndSet(succs[0], node, false, false)) continue;
+            size.increment();
+            for (int level = 1; level <= topLevel; level++) {
+                while (true) {
+                    Node<T> succ = succs[level];
+                    if (node.next[level].isMarked()) {
+                        // removed concurrently, leave the upper levels to find
+                        return true;
+                    }
+                    if (node.next[level].getReference() != succ
+                            && !node.next[level].compareAndSet(node.next[level].getReference(), succ, false, false)) {
+                        continue;
+                    }
+                    if (preds[level].next[level].compareAndSet(succ, node, false, false)) break;
+                    find(element, preds, succs);
+                    if (succs[0] != node) return true;
+                }
+            }
+            return true;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public boolean remove(T element){
+        if (element == null) return false;
+        Node<T>[] preds = (Node<T>[]) new Node[MAX_LEVEL];
+        Node<T>[] succs = (Node<T>[]) new Node[MAX_LEVEL];
+        if (!find(element, preds, succs)) return false;
+        Node<T> victim = succs[0];
+        boolean[] marked = {false};
+        for (int level = victim.topLevel; level >= 1; level--) {
+            Node<T> succ = victim.next[level].get(marked);
+            while (!marked[0]) {
+                victim.next[level].compareAndSet(succ, succ, false, true);
+                succ = victim.next[level].get(marked);
+            }
+        }
+        Node<T> succ = victim.next[0].get(marked);
+        while (true) {
+            // only the thread that sets the bottom mark removes the element
+            boolean iMarkedIt = victim.next[0].compareAndSet(succ, succ, false, true);
+            succ = victim.next[0].get(marked);
+            if (iMarkedIt) {
+                size.decrement();
+                find(element, preds, succs);
+                return true;
+            }
+            if (marked[0]) return false;
+        }
+    }
+
+    // wait-free: never helps unlinking, just skips marked nodes
+    public boolean contains(T element){
+        if (element == null) return false;
+        boolean[] marked = {false};
+        Node<T> pred = head;
+        Node<T> curr = null;
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            curr = pred.next[level].getReference();
+            while (true) {
+                Node<T> succ = curr.next[level].get(marked);
+                while (marked[0]) {
+                    curr = succ;
+                    succ = curr.next[level].get(marked);
+                }
+                if (compare(curr, element) < 0) {
+                    pred = curr;
+                    curr = succ;
+                } else {
+                    break;
+                }
+            }
+        }
+        return compare(curr, element) == 0;
+    }
+
+    // exact when there are no concurrent updates
+    public int size() {
+        return (int) Math.min(size.sum(), Integer.MAX_VALUE);
+    }
+
+    public boolean isEmpty() {
+        Iterator<T> iterator = iterator();
+        return !iterator.hasNext();
+    }
+
+    // not atomic: elements inserted concurrently may survive
+    public void clear() {
+        for (T element : this) remove(element);
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        for(T element : this){
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(element);
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    // weakly consistent: never throws ConcurrentModificationException, returns elements
+    // in ascending order and reflects every update that happened before its creation
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Node<T> next = advance(head);
+
+            private Node<T> advance(Node<T> node) {
+                boolean[] marked = {false};
+                Node<T> curr = node.next[0].getReference();
+                while (curr != tail) {
+                    curr.next[0].get(marked);
+                    if (!marked[0]) return curr;
+                    curr = curr.next[0].getReference();
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (next == null) throw new NoSuchElementException();
+                T data = next.data;
+                next = advance(next);
+                return data;
+            }
+        };
+    }
+
+}
@@ -1,7 +1,13 @@
 package io.jfxdevelop;
 
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.Iterator;
-//import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 //import java.util.NoSuchElementException;
 
 public class DynamicArray<T> implements Iterable<T> {
@@ -101,7 +107,7 @@ public class DynamicArray<T> implements Iterable<T> {
     }
     public int indexOf(T element) {
         for(int i = 0; i < size; i++){
-            if(array[i].equals(element)){
+            if(Objects.equals(array[i], element)){
                 return i;
             }
         }
@@ -111,6 +117,61 @@ public class DynamicArray<T> implements Iterable<T> {
         return indexOf(element) != -1;
     }
 
+    // sorts [0, size) in place; a null comparator means natural ordering
+    public void sort(Comparator<? super T> comparator) {
+        Arrays.sort(array, 0, size, comparator);
+    }
+
+    // the same as sort, but splits the work across the fork-join common pool
+    public void parallelSort(Comparator<? super T> comparator) {
+        Arrays.parallelSort(array, 0, size, comparator);
+    }
+
+    // the array must be sorted by the same comparator;
+    // returns the index of key, or -(insertion point) - 1
+    public int binarySearch(T key, Comparator<? super T> comparator) {
+        return Arrays.binarySearch(array, 0, size, key, comparator);
+    }
+
+    public void replaceAll(UnaryOperator<T> operator) {
+        for (int i = 0; i < size; i++) {
+            array[i] = operator.apply(array[i]);
+        }
+    }
+
+    // every predicate call runs before anything is moved, so a throwing filter
+    // leaves the array untouched; then one compaction pass
+    public boolean removeIf(Predicate<? super T> filter) {
+        int first = 0;
+        while (first < size && !filter.test(array[first])) {
+            first++;
+        }
+        if (first == size) {
+            return false;
+        }
+        BitSet removed = new BitSet(size - first);
+        removed.set(0);
+        for (int i = first + 1; i < size; i++) {
+            if (filter.test(array[i])) {
+                removed.set(i - first);
+            }
+        }
+        int kept = first;
+        for (int i = first; i < size; i++) {
+            if (!removed.get(i - first)) {
+                array[kept++] = array[i];
+            }
+        }
+        Arrays.fill(array, kept, size, null);
+        size = kept;
+        return true;
+    }
+
+    // the action must be thread-safe, elements are visited in no particular order
+    public void parallelForEach(Consumer<? super T> action) {
+        Arrays.stream(array, 0, size).parallel().forEach(action);
+    }
+
     @Override
     public Iterator<T> iterator() {
         return new Iterator<T>() {
@@ -0,0 +1,235 @@
+package io.jfxdevelop;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+// DynamicArray over a circular gap buffer: the free slots form one gap that sits
+// at the last edit position, so edits near it and at either end are amortized O(1).
+// Logical positions 0 and size are the same physical place (the seam), so the gap
+// moves whichever way round the circle is shorter
+public class GapBufferArray<T> implements Iterable<T> {
+
+    private Object[] buffer;
+    private int mask;
+    private int size;
+    private int gapStart;   // physical index of the first free slot
+    private int gapLength;
+    private int gapIndex;   // number of elements before the gap
+    private static final int DEFAULT_CAPACITY = 16;
+
+
+    public GapBufferArray() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public GapBufferArray(int initCapacity) {
+
+        if (initCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be greater than 0");
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(initCapacity, 2) - 1) << 1;
+        buffer = new Object[capacity];
+        mask = capacity - 1;
+        size = 0;
+        gapStart = 0;
+        gapLength = capacity;
+        gapIndex = 0;
+    }
+
+    private int physical(int index) {
+        return index < gapIndex
+                ? (gapStart - gapIndex + index) & mask
+                : (gapStart + gapLength + index - gapIndex) & mask;
+    }
+
+    public void add(T element) {
+        insert(size, element);
+    }
+
+    public void addFirst(T element) {
+        insert(0, element);
+    }
+
+    public void insert(int index, T element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index out of bounds");
+        }
+        if (gapLength == 0) {
+            resize();
+        }
+        moveGap(index);
+        buffer[gapStart] = element;
+        gapStart = (gapStart + 1) & mask;
+        gapLength--;
+        gapIndex++;
+        size++;
+    }
+
+    public T remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index out of bounds");
+        }
+        moveGap(index);
+        // the element right after the gap joins it
+        int slot = (gapStart + gapLength) & mask;
+        @SuppressWarnings("unchecked")
+        T removedElement = (T) buffer[slot];
+        buffer[slot] = null;
+        gapLength++;
+        size--;
+        return removedElement;
+    }
+
+    public T removeFirst() {
+        if (size == 0) throw new NoSuchElementException("Array is empty");
+        return remove(0);
+    }
+
+    public T removeLast() {
+        if (size == 0) throw new NoSuchElementException("Array is empty");
+        return remove(size - 1);
+    }
+
+    // the gap ends up before element index; costs min(direct distance, distance via the seam)
+    private void moveGap(int index) {
+        if (size == 0 || index == gapIndex) {
+            gapIndex = index;
+            return;
+        }
+        int right = Math.floorMod(index - gapIndex, size);
+        if (right <= size - right) {
+            moveGapRight(right);
+        } else {
+            moveGapLeft(size - right);
+        }
+        gapIndex = index;
+    }
+
+    // elements after the gap move in front of it
+    private void moveGapRight(int count) {
+        int capacity = buffer.length;
+        int src = (gapStart + gapLength) & mask;
+        int dst = gapStart;
+        for (int left = count; left > 0; ) {
+            int chunk = Math.min(left, Math.min(capacity - src, capacity - dst));
+            System.arraycopy(buffer, src, buffer, dst, chunk);
+            src = (src + chunk) & mask;
+            dst = (dst + chunk) & mask;
+            left -= chunk;
+        }
+        int cleared = Math.min(count, gapLength);
+        clearSlots((gapStart + count + gapLength - cleared) & mask, cleared);
+        gapStart = (gapStart + count) & mask;
+    }
+
+    // elements before the gap move behind it, copied from the end
+    private void moveGapLeft(int count) {
+        int capacity = buffer.length;
+        int srcEnd = gapStart;
+        int dstEnd = (gapStart + gapLength) & mask;
+        for (int left = count; left > 0; ) {
+            int src = srcEnd == 0 ? capacity : srcEnd;
+            int dst = dstEnd == 0 ? capacity : dstEnd;
+            int chunk = Math.min(left, Math.min(src, dst));
+            System.arraycopy(buffer, src - chunk, buffer, dst - chunk, chunk);
+            srcEnd = src - chunk;
+            dstEnd = dst - chunk;
+            left -= chunk;
+        }
+        gapStart = (gapStart - count) & mask;
+        clearSlots(gapStart, Math.min(count, gapLength));
+    }
+
+    // nulls count slots from physical index from, wrapping around
+    private void clearSlots(int from, int count) {
+        for (int i = 0; i < count; i++) {
+            buffer[(from + i) & mask] = null;
+        }
+    }
+
+    // doubles the buffer, elements are laid out in order with the gap at the seam
+    public void resize() {
+        Object[] newBuffer = new Object[buffer.length * 2];
+        for (int i = 0; i < size; i++) {
+            newBuffer[i] = buffer[physical(i)];
+        }
+        buffer = newBuffer;
+        mask = buffer.length - 1;
+        gapStart = size;
+        gapLength = buffer.length - size;
+        gapIndex = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index out of bounds");
+        }
+        return (T) buffer[physical(index)];
+    }
+    public void set(int index, T element) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index out of bounds");
+        }
+        buffer[physical(index)] = element;
+    }
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    public void clear() {
+        for(int i = 0; i < size; i++){
+            buffer[physical(i)] = null;
+        }
+        size = 0;
+        gapStart = 0;
+        gapLength = buffer.length;
+        gapIndex = 0;
+    }
+    public int indexOf(T element) {
+        for(int i = 0; i < size; i++){
+            if(Objects.equals(buffer[physical(i)], element)){
+                return i;
+            }
+        }
+        return -1;
+    }
+    public boolean contains(T element) {
+        return indexOf(element) != -1;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int index = 0;
+            public boolean hasNext() {
+                return index < size;
+            }
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (index >= size) throw new NoSuchElementException();
+                return (T) buffer[physical(index++)];
+            }
+        };
+    }
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        for(int i = 0; i < size; i++){
+            sb.append(buffer[physical(i)]);
+            if(i < size - 1){
+                sb.append(", ");
+            }
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+}
@@ -1,13 +1,20 @@
 package io.jfxdevelop;
 
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 /**
  * Реализация хеш-таблицы с методом цепочек для разрешения коллизий
  * Поддерживает основные операции put, get, remove, содержит итераторы
- * делает красивый вывод статистики таблицы
+ * делает красивый вывод статистики таблицы.
+ * Цепочка длиннее TREEIFY_THRESHOLD из Comparable-ключей одного класса
+ * превращается в AVL-дерево, что ограничивает поиск в бакете O(log n)
  * 
  * @param <K> тип ключей
  * @param <V> тип значений
@@ -34,6 +41,24 @@ public class HashTable<K, V> implements Iterable<K> {
         }
     }
     
+    /**
+     * Узел бакета, преобразованного в AVL-дерево.
+     * Узлы дерева по-прежнему связаны через next (и prev) в список,
+     * корень дерева всегда стоит в начале списка и лежит в бакете,
+     * поэтому обход цепочек через next работает без изменений
+     */
+    private static final class TreeNode<K, V> extends Entry<K, V> {
+        TreeNode<K, V> left;
+        TreeNode<K, V> right;
+        TreeNode<K, V> prev;
+        int height = 1;
+        int binSize;  // количество элементов бакета, актуально только у корня
+        
+        TreeNode(K key, V value) {
+            super(key, value);
+        }
+    }
+    
     // Основные поля
     private Entry<K, V>[] buckets;
     private int size;
@@ -42,10 +67,30 @@ public class HashTable<K, V> implements Iterable<K> {
     private int collisionCount;
     private int maxChainLength;
     
+    // Поля инкрементального resize
+    private final boolean incrementalResize;
+    private Entry<K, V>[] oldBuckets;
+    private int migrationIndex;
+    
+    // Счетчики операций для stats(), обновляются без аллокаций
+    private long getCount;
+    private long putCount;
+    private long removeCount;
+    private long hitCount;
+    private long missCount;
+    private final long[] probeHistogram = new long[PROBE_HISTOGRAM_SIZE];
+    private int probes;  // длина поиска текущей операции
+    private long resizeNanosTotal;
+    private long resizeNanosMax;
+    
     // Константы
     private static final int DEFAULT_CAPACITY = 16;
     private static final double LOAD_FACTOR = 0.75;
     private static final int MAX_CAPACITY = 1 << 30;
+    private static final int MIGRATION_STEP = 8;
+    private static final int TREEIFY_THRESHOLD = 8;
+    private static final int UNTREEIFY_THRESHOLD = 6;
+    static final int PROBE_HISTOGRAM_SIZE = 16;
     
     /**
      * Конструктор по умолчанию
@@ -58,6 +103,7 @@ public class HashTable<K, V> implements Iterable<K> {
         this.resizeCount = 0;
         this.collisionCount = 0;
         this.maxChainLength = 0;
+        this.incrementalResize = false;
     }
     
     /**
@@ -65,8 +111,22 @@ public class HashTable<K, V> implements Iterable<K> {
      * @param initialCapacity начальная емкость
      * @throws IllegalArgumentException если емкость <= 0
      */
-    @SuppressWarnings("unchecked")
     public HashTable(int initialCapacity) {
+        this(initialCapacity, false);
+    }
+    
+    /**
+     * Конструктор с заданной начальной емкостью и режимом resize.
+     * В инкрементальном режиме старый и новый массивы бакетов живут
+     * одновременно, а каждая последующая операция put/get/remove переносит
+     * не более MIGRATION_STEP бакетов, так что ни одна вставка не платит
+     * за перехеширование всей таблицы
+     * @param initialCapacity начальная емкость
+     * @param incrementalResize true для инкрементального resize
+     * @throws IllegalArgumentException если емкость <= 0
+     */
+    @SuppressWarnings("unchecked")
+    public HashTable(int initialCapacity, boolean incrementalResize) {
         if (initialCapacity <= 0) {
             throw new IllegalArgumentException("Initial capacity must be greater than 0");
         }
@@ -76,6 +136,7 @@ public class HashTable<K, V> implements Iterable<K> {
         this.resizeCount = 0;
         this.collisionCount = 0;
         this.maxChainLength = 0;
+        this.incrementalResize = incrementalResize;
     }
     
     /**
@@ -95,12 +156,22 @@ public class HashTable<K, V> implements Iterable<K> {
      * @return индекс в массиве buckets
      */
     private int hash(K key) {
+        return indexFor(key, capacity);
+    }
+    
+    /**
+     * Вычисление индекса бакета для массива заданной длины
+     * @param key ключ
+     * @param length длина массива бакетов (степень двойки)
+     * @return индекс в массиве
+     */
+    private static int indexFor(Object key, int length) {
         if (key == null) {
             return 0;
         }
         int h = key.hashCode();
         // Распределение хеша для лучшего распределения
-        return (h ^ (h >>> 16)) & (capacity - 1);
+        return (h ^ (h >>> 16)) & (length - 1);
     }
     
     /**
@@ -113,32 +184,68 @@ public class HashTable<K, V> implements Iterable<K> {
         if (key == null) {
             throw new IllegalArgumentException("Key cannot be null");
         }
+        putCount++;
+        probes = 0;
         
-        int index = hash(key);
-        Entry<K, V> current = buckets[index];
-        
-        // Проверка существования ключа
-        while (current != null) {
-            if (current.key.equals(key)) {
-                current.value = value;
+        if (oldBuckets != null) {
+            migrateStep();
+            Entry<K, V> old = findInOldBuckets(key);
+            if (old != null) {
+                old.value = value;
+                recordProbes();
                 return;
             }
-            current = current.next;
         }
         
-        // Добавление нового элемента в начало цепочки
-        Entry<K, V> newEntry = new Entry<>(key, value);
-        newEntry.next = buckets[index];
-        buckets[index] = newEntry;
-        size++;
+        int index = hash(key);
+        if (buckets[index] instanceof TreeNode && !treeAccepts((TreeNode<K, V>) buckets[index], key)) {
+            untreeify(buckets, index);
+        }
         
-        // Подсчет коллизий
-        if (buckets[index] != null && buckets[index].next != null) {
+        if (buckets[index] instanceof TreeNode) {
+            Entry<K, V> existing = putTreeVal(buckets, index, key, value);
+            if (existing != null) {
+                existing.value = value;
+                recordProbes();
+                return;
+            }
+            size++;
             collisionCount++;
+            maxChainLength = Math.max(maxChainLength, ((TreeNode<K, V>) buckets[index]).binSize);
+        } else {
+            Entry<K, V> current = buckets[index];
+            int length = 0;
+            
+            // Проверка существования ключа с подсчетом длины цепочки
+            while (current != null) {
+                if (current.key.equals(key)) {
+                    current.value = value;
+                    probes += length + 1;
+                    recordProbes();
+                    return;
+                }
+                length++;
+                current = current.next;
+            }
+            probes += length;
+            
+            // Добавление нового элемента в начало цепочки
+            Entry<K, V> newEntry = new Entry<>(key, value);
+            newEntry.next = buckets[index];
+            buckets[index] = newEntry;
+            size++;
+            
+            // Подсчет коллизий и максимальной длины цепочки
+            if (length > 0) {
+                collisionCount++;
+            }
+            maxChainLength = Math.max(maxChainLength, length + 1);
+            
+            if (length + 1 >= TREEIFY_THRESHOLD) {
+                treeify(buckets, index);
+            }
         }
-        
-        // Обновление максимальной длины цепочки
-        updateMaxChainLength(index);
+        recordProbes();
         
         // Проверка необходимости resize
         if ((double) size / capacity > LOAD_FACTOR) {
@@ -157,12 +264,51 @@ public class HashTable<K, V> implements Iterable<K> {
             throw new IllegalArgumentException("Key cannot be null");
         }
         
-        int index = hash(key);
-        Entry<K, V> current = buckets[index];
+        getCount++;
+        probes = 0;
+        
+        Entry<K, V> entry = null;
+        if (oldBuckets != null) {
+            migrateStep();
+            entry = findInOldBuckets(key);
+        }
+        if (entry == null) {
+            entry = findEntry(buckets, hash(key), key);
+        }
+        
+        recordProbes();
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.value;
+    }
+    
+    /**
+     * Учет длины поиска завершившейся операции в гистограмме
+     */
+    private void recordProbes() {
+        probeHistogram[Math.min(probes, PROBE_HISTOGRAM_SIZE - 1)]++;
+    }
+    
+    /**
+     * Поиск элемента в бакете (цепочке или дереве)
+     * @param table массив бакетов
+     * @param index индекс бакета
+     * @param key ключ
+     * @return элемент или null если ключ не найден
+     */
+    private Entry<K, V> findEntry(Entry<K, V>[] table, int index, Object key) {
+        Entry<K, V> current = table[index];
+        if (current instanceof TreeNode && treeAccepts((TreeNode<K, V>) current, key)) {
+            return treeFind((TreeNode<K, V>) current, key);
+        }
         
         while (current != null) {
+            probes++;
             if (current.key.equals(key)) {
-                return current.value;
+                return current;
             }
             current = current.next;
         }
@@ -191,20 +337,51 @@ public class HashTable<K, V> implements Iterable<K> {
         if (key == null) {
             throw new IllegalArgumentException("Key cannot be null");
         }
+        removeCount++;
         
-        int index = hash(key);
-        Entry<K, V> current = buckets[index];
+        if (oldBuckets != null) {
+            migrateStep();
+            if (oldBuckets != null) {
+                Entry<K, V> removed = unlink(oldBuckets, indexFor(key, oldBuckets.length), key);
+                if (removed != null) {
+                    size--;
+                    return removed.value;
+                }
+            }
+        }
+        
+        Entry<K, V> removed = unlink(buckets, hash(key), key);
+        if (removed != null) {
+            size--;
+            return removed.value;
+        }
+        
+        return null;
+    }
+    
+    /**
+     * Удаление элемента из цепочки бакета
+     * @param table массив бакетов
+     * @param index индекс бакета
+     * @param key ключ
+     * @return удаленный элемент или null если ключ не найден
+     */
+    private Entry<K, V> unlink(Entry<K, V>[] table, int index, K key) {
+        if (table[index] instanceof TreeNode) {
+            return removeTreeNode(table, index, key);
+        }
+        
+        Entry<K, V> current = table[index];
         Entry<K, V> previous = null;
         
         while (current != null) {
             if (current.key.equals(key)) {
                 if (previous == null) {
-                    buckets[index] = current.next;
+                    table[index] = current.next;
                 } else {
                     previous.next = current.next;
                 }
-                size--;
-                return current.value;
+                return current;
             }
             previous = current;
             current = current.next;
@@ -231,6 +408,7 @@ public class HashTable<K, V> implements Iterable<K> {
      * @return true если значение существует
      */
     public boolean containsValue(V value) {
+        finishMigration();
         for (Entry<K, V> bucket : buckets) {
             Entry<K, V> current = bucket;
             while (current != null) {
@@ -263,6 +441,8 @@ public class HashTable<K, V> implements Iterable<K> {
     @SuppressWarnings("unchecked")
     public void clear() {
         this.buckets = (Entry<K, V>[]) new Entry[capacity];
+        this.oldBuckets = null;
+        this.migrationIndex = 0;
         this.size = 0;
         this.collisionCount = 0;
         this.maxChainLength = 0;
@@ -285,6 +465,7 @@ public class HashTable<K, V> implements Iterable<K> {
      * @return список значений
      */
     public List<V> values() {
+        finishMigration();
         List<V> values = new ArrayList<>();
         for (Entry<K, V> bucket : buckets) {
             Entry<K, V> current = bucket;
@@ -301,6 +482,7 @@ public class HashTable<K, V> implements Iterable<K> {
      * @return список записей
      */
     public List<Map.Entry<K, V>> entries() {
+        finishMigration();
         List<Map.Entry<K, V>> entries = new ArrayList<>();
         for (Entry<K, V> bucket : buckets) {
             Entry<K, V> current = bucket;
@@ -337,12 +519,22 @@ public class HashTable<K, V> implements Iterable<K> {
         return () -> new EntryIterator();
     }
     
+    /**
+     * Сплитератор по ключам, делящий массив бакетов пополам
+     * @return сплитератор
+     */
+    @Override
+    public Spliterator<K> spliterator() {
+        finishMigration();
+        return new KeySpliterator(buckets, 0, buckets.length, size, true);
+    }
+    
     /**
      * Поток ключей
      * @return поток ключей
      */
     public Stream<K> keyStream() {
-        return StreamSupport.stream(Spliterators.spliterator(iterator(), size, 0), false);
+        return StreamSupport.stream(spliterator(), false);
     }
     
     /**
@@ -350,7 +542,7 @@ public class HashTable<K, V> implements Iterable<K> {
      * @return поток значений
      */
     public Stream<V> valueStream() {
-        return StreamSupport.stream(Spliterators.spliterator(valuesIterable().iterator(), size, 0), false);
+        return StreamSupport.stream(valueSpliterator(), false);
     }
     
     /**
@@ -358,36 +550,187 @@ public class HashTable<K, V> implements Iterable<K> {
      * @return поток записей
      */
     public Stream<Map.Entry<K, V>> entryStream() {
-        return StreamSupport.stream(Spliterators.spliterator(entriesIterable().iterator(), size, 0), false);
+        return StreamSupport.stream(entrySpliterator(), false);
+    }
+    
+    /**
+     * Параллельный поток ключей
+     * @return параллельный поток ключей
+     */
+    public Stream<K> parallelKeyStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+    
+    /**
+     * Параллельный поток значений
+     * @return параллельный поток значений
+     */
+    public Stream<V> parallelValueStream() {
+        return StreamSupport.stream(valueSpliterator(), true);
+    }
+    
+    /**
+     * Параллельный поток записей
+     * @return параллельный поток записей
+     */
+    public Stream<Map.Entry<K, V>> parallelEntryStream() {
+        return StreamSupport.stream(entrySpliterator(), true);
+    }
+    
+    private Spliterator<V> valueSpliterator() {
+        finishMigration();
+        return new ValueSpliterator(buckets, 0, buckets.length, size, true);
+    }
+    
+    private Spliterator<Map.Entry<K, V>> entrySpliterator() {
+        finishMigration();
+        return new EntrySpliterator(buckets, 0, buckets.length, size, true);
+    }
+    
+    /**
+     * Запись компактного снимка таблицы в файл для быстрого открытия
+     * через {@link #open(Path, SnapshotCodec, SnapshotCodec)}
+     * @param path файл снимка (заменяется атомарно)
+     * @param keyCodec кодек ключей
+     * @param valueCodec кодек значений
+     * @throws IOException при ошибке записи
+     * @throws IllegalArgumentException если среди значений есть null
+     */
+    public void snapshotTo(Path path, SnapshotCodec<? super K> keyCodec, SnapshotCodec<? super V> valueCodec) throws IOException {
+        MappedHashTable.write(path, entriesIterable(), size, keyCodec, valueCodec);
+    }
+    
+    /**
+     * Открытие снимка, записанного {@link #snapshotTo(Path, SnapshotCodec, SnapshotCodec)}.
+     * Файл отображается в память, элементы не десериализуются заранее,
+     * поэтому время открытия не зависит от количества элементов
+     * @param path файл снимка
+     * @param keyCodec кодек ключей
+     * @param valueCodec кодек значений
+     * @return таблица только для чтения, работающая поверх файла
+     * @throws IOException если файл не читается или не является снимком
+     */
+    public static <K, V> MappedHashTable<K, V> open(Path path, SnapshotCodec<K> keyCodec, SnapshotCodec<V> valueCodec) throws IOException {
+        return MappedHashTable.open(path, keyCodec, valueCodec);
     }
     
     /**
      * Изменение размера таблицы при превышении load factor
      */
-    @SuppressWarnings("unchecked")
     private void resize() {
         if (capacity >= MAX_CAPACITY) {
             return;
         }
         
-        int oldCapacity = capacity;
+        long start = System.nanoTime();
+        startMigration();
+        if (!incrementalResize) {
+            // Полный перенос сразу, без повторных put (они исказили бы счетчики операций)
+            finishMigration();
+        }
+        recordResizeNanos(System.nanoTime() - start);
+    }
+    
+    /**
+     * Учет длительности одной паузы на перехеширование
+     * @param nanos длительность в наносекундах
+     */
+    private void recordResizeNanos(long nanos) {
+        resizeNanosTotal += nanos;
+        resizeNanosMax = Math.max(resizeNanosMax, nanos);
+    }
+    
+    /**
+     * Начало инкрементального resize: текущие бакеты становятся старыми,
+     * новые элементы попадают только в новый массив
+     */
+    @SuppressWarnings("unchecked")
+    private void startMigration() {
+        finishMigration();
+        oldBuckets = buckets;
+        migrationIndex = 0;
         capacity *= 2;
-        Entry<K, V>[] oldBuckets = buckets;
         buckets = (Entry<K, V>[]) new Entry[capacity];
-        size = 0;
         collisionCount = 0;
         maxChainLength = 0;
-        
-        for (int i = 0; i < oldCapacity; i++) {
-            Entry<K, V> current = oldBuckets[i];
-            while (current != null) {
-                Entry<K, V> next = current.next;
-                put(current.key, current.value);
-                current = next;
+        resizeCount++;
+    }
+    
+    /**
+     * Перенос не более MIGRATION_STEP старых бакетов в новый массив
+     */
+    private void migrateStep() {
+        long start = System.nanoTime();
+        int end = Math.min(migrationIndex + MIGRATION_STEP, oldBuckets.length);
+        while (migrationIndex < end) {
+            transferBucket(migrationIndex++);
+        }
+        if (migrationIndex == oldBuckets.length) {
+            oldBuckets = null;
+            migrationIndex = 0;
+        }
+        recordResizeNanos(System.nanoTime() - start);
+    }
+    
+    /**
+     * Завершение начатой миграции целиком (для операций,
+     * которые все равно обходят всю таблицу)
+     */
+    private void finishMigration() {
+        if (oldBuckets == null) {
+            return;
+        }
+        while (migrationIndex < oldBuckets.length) {
+            transferBucket(migrationIndex++);
+        }
+        oldBuckets = null;
+        migrationIndex = 0;
+    }
+    
+    /**
+     * Перенос цепочки старого бакета в новый массив без создания новых Entry.
+     * Элементы старого бакета i попадают только в бакеты i и i + oldCapacity
+     * @param oldIndex индекс старого бакета
+     */
+    private void transferBucket(int oldIndex) {
+        Entry<K, V> current = oldBuckets[oldIndex];
+        oldBuckets[oldIndex] = null;
+        if (current == null) {
+            return;
+        }
+        boolean treeBin = current instanceof TreeNode;
+        while (current != null) {
+            Entry<K, V> next = current.next;
+            int index = hash(current.key);
+            if (buckets[index] != null) {
+                collisionCount++;
             }
+            if (buckets[index] instanceof TreeNode && treeAccepts((TreeNode<K, V>) buckets[index], current.key)) {
+                putTreeVal(buckets, index, current.key, current.value);
+            } else {
+                if (buckets[index] instanceof TreeNode) {
+                    untreeify(buckets, index);
+                }
+                Entry<K, V> moved = treeBin ? new Entry<>(current.key, current.value) : current;
+                moved.next = buckets[index];
+                buckets[index] = moved;
+            }
+            current = next;
         }
-        
-        resizeCount++;
+        updateMaxChainLength(oldIndex);
+        updateMaxChainLength(oldIndex + oldBuckets.length);
+    }
+    
+    /**
+     * Поиск элемента в еще не перенесенной части старого массива
+     * @param key ключ
+     * @return элемент или null если его там нет
+     */
+    private Entry<K, V> findInOldBuckets(K key) {
+        if (oldBuckets == null) {
+            return null;
+        }
+        return findEntry(oldBuckets, indexFor(key, oldBuckets.length), key);
     }
     
     /**
@@ -408,6 +751,10 @@ public class HashTable<K, V> implements Iterable<K> {
      * @param index индекс бакета
      */
     private void updateMaxChainLength(int index) {
+        if (buckets[index] instanceof TreeNode) {
+            maxChainLength = Math.max(maxChainLength, ((TreeNode<K, V>) buckets[index]).binSize);
+            return;
+        }
         int length = 0;
         Entry<K, V> current = buckets[index];
         while (current != null) {
@@ -415,17 +762,368 @@ public class HashTable<K, V> implements Iterable<K> {
             current = current.next;
         }
         maxChainLength = Math.max(maxChainLength, length);
+        if (length >= TREEIFY_THRESHOLD) {
+            treeify(buckets, index);
+        }
+    }
+    
+    // Бакеты-деревья
+    
+    /**
+     * Все ключи дерева одного Comparable-класса, поэтому в дереве
+     * можно искать только ключи этого же класса
+     * @param root корень дерева бакета
+     * @param key ключ
+     * @return true если ключ можно сравнивать с ключами дерева
+     */
+    private static boolean treeAccepts(TreeNode<?, ?> root, Object key) {
+        return key.getClass() == root.key.getClass() && comparableClassFor(key) != null;
+    }
+    
+    /**
+     * Класс ключа, если он реализует Comparable для самого себя
+     * (как HashMap.comparableClassFor): реализации Comparable&lt;Other&gt;
+     * нельзя сравнивать между собой
+     * @param key ключ
+     * @return класс ключа или null
+     */
+    private static Class<?> comparableClassFor(Object key) {
+        if (!(key instanceof Comparable)) {
+            return null;
+        }
+        Class<?> keyClass = key.getClass();
+        if (keyClass == String.class) {
+            return keyClass;
+        }
+        for (Type type : keyClass.getGenericInterfaces()) {
+            if (type instanceof ParameterizedType
+                    && ((ParameterizedType) type).getRawType() == Comparable.class) {
+                Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+                if (arguments.length == 1 && arguments[0] == keyClass) {
+                    return keyClass;
+                }
+            }
+        }
+        return null;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static int compareKeys(Object a, Object b) {
+        return ((Comparable<Object>) a).compareTo(b);
+    }
+    
+    /**
+     * Преобразование цепочки в AVL-дерево, если все ключи цепочки
+     * принадлежат одному классу, сравнимому с самим собой
+     * @param table массив бакетов
+     * @param index индекс бакета
+     */
+    private void treeify(Entry<K, V>[] table, int index) {
+        Entry<K, V> head = table[index];
+        Class<?> keyClass = comparableClassFor(head.key);
+        if (keyClass == null) {
+            return;
+        }
+        for (Entry<K, V> current = head; current != null; current = current.next) {
+            if (current.key.getClass() != keyClass) {
+                return;
+            }
+        }
+        
+        TreeNode<K, V> root = null;
+        TreeNode<K, V> first = null;
+        TreeNode<K, V> last = null;
+        int count = 0;
+        for (Entry<K, V> current = head; current != null; current = current.next) {
+            TreeNode<K, V> node = new TreeNode<>(current.key, current.value);
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+                node.prev = last;
+            }
+            last = node;
+            root = treeInsert(root, node);
+            count++;
+        }
+        setTreeRoot(table, index, first, root, count);
     }
     
     /**
-     * Вывод статистики таблицы
+     * Обратное преобразование дерева в обычную цепочку
+     * @param table массив бакетов
+     * @param index индекс бакета
+     */
+    private void untreeify(Entry<K, V>[] table, int index) {
+        Entry<K, V> head = null;
+        Entry<K, V> last = null;
+        for (Entry<K, V> current = table[index]; current != null; current = current.next) {
+            Entry<K, V> entry = new Entry<>(current.key, current.value);
+            if (last == null) {
+                head = entry;
+            } else {
+                last.next = entry;
+            }
+            last = entry;
+        }
+        table[index] = head;
+    }
+    
+    /**
+     * Перемещение нового корня дерева в начало списка бакета
+     * @param table массив бакетов
+     * @param index индекс бакета
+     * @param head текущее начало списка
+     * @param root новый корень дерева
+     * @param binSize количество элементов бакета
+     */
+    private void setTreeRoot(Entry<K, V>[] table, int index, TreeNode<K, V> head, TreeNode<K, V> root, int binSize) {
+        if (root != head) {
+            root.prev.next = root.next;
+            if (root.next != null) {
+                ((TreeNode<K, V>) root.next).prev = root.prev;
+            }
+            root.next = head;
+            root.prev = null;
+            head.prev = root;
+        }
+        root.binSize = binSize;
+        table[index] = root;
+    }
+    
+    /**
+     * Поиск узла в дереве бакета. При compareTo == 0 без equals
+     * (compareTo не согласован с equals) проверяются оба поддерева
+     * @param node корень поддерева
+     * @param key ключ
+     * @return узел или null
+     */
+    private TreeNode<K, V> treeFind(TreeNode<K, V> node, Object key) {
+        while (node != null) {
+            probes++;
+            int cmp = compareKeys(key, node.key);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                node = node.right;
+            } else if (node.key.equals(key)) {
+                return node;
+            } else {
+                TreeNode<K, V> found = treeFind(node.left, key);
+                if (found != null) {
+                    return found;
+                }
+                node = node.right;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Добавление пары в бакет-дерево
+     * @return существующий элемент или null если добавлен новый
+     */
+    private Entry<K, V> putTreeVal(Entry<K, V>[] table, int index, K key, V value) {
+        TreeNode<K, V> root = (TreeNode<K, V>) table[index];
+        TreeNode<K, V> existing = treeFind(root, key);
+        if (existing != null) {
+            return existing;
+        }
+        
+        // Новый узел встает в список сразу за текущим корнем
+        TreeNode<K, V> node = new TreeNode<>(key, value);
+        node.next = root.next;
+        if (root.next != null) {
+            ((TreeNode<K, V>) root.next).prev = node;
+        }
+        node.prev = root;
+        root.next = node;
+        
+        setTreeRoot(table, index, root, treeInsert(root, node), root.binSize + 1);
+        return null;
+    }
+    
+    /**
+     * Удаление ключа из бакета-дерева
+     * @return удаленный элемент или null если ключ не найден
+     */
+    private Entry<K, V> removeTreeNode(Entry<K, V>[] table, int index, K key) {
+        TreeNode<K, V> root = (TreeNode<K, V>) table[index];
+        if (!treeAccepts(root, key)) {
+            // Ключ другого класса может оказаться равным только при нестандартном equals
+            if (findEntry(table, index, key) == null) {
+                return null;
+            }
+            untreeify(table, index);
+            return unlink(table, index, key);
+        }
+        
+        TreeNode<K, V> node = treeFind(root, key);
+        if (node == null) {
+            return null;
+        }
+        
+        TreeNode<K, V> head = node == root ? (TreeNode<K, V>) root.next : root;
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        }
+        if (node.next != null) {
+            ((TreeNode<K, V>) node.next).prev = node.prev;
+        }
+        
+        int binSize = root.binSize - 1;
+        TreeNode<K, V> newRoot = treeDelete(root, node);
+        if (newRoot == null) {
+            table[index] = null;
+            return node;
+        }
+        setTreeRoot(table, index, head, newRoot, binSize);
+        if (binSize <= UNTREEIFY_THRESHOLD) {
+            untreeify(table, index);
+        }
+        return node;
+    }
+    
+    private TreeNode<K, V> treeInsert(TreeNode<K, V> node, TreeNode<K, V> newNode) {
+        if (node == null) {
+            return newNode;
+        }
+        if (compareKeys(newNode.key, node.key) < 0) {
+            node.left = treeInsert(node.left, newNode);
+        } else {
+            node.right = treeInsert(node.right, newNode);
+        }
+        return rebalance(node);
+    }
+    
+    private TreeNode<K, V> treeDelete(TreeNode<K, V> node, TreeNode<K, V> target) {
+        if (node == target) {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            TreeNode<K, V> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = removeMin(node.right);
+            successor.left = node.left;
+            return rebalance(successor);
+        }
+        int cmp = compareKeys(target.key, node.key);
+        if (cmp < 0 || (cmp == 0 && containsNode(node.left, target))) {
+            node.left = treeDelete(node.left, target);
+        } else {
+            node.right = treeDelete(node.right, target);
+        }
+        return rebalance(node);
+    }
+    
+    private TreeNode<K, V> removeMin(TreeNode<K, V> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+    
+    private boolean containsNode(TreeNode<K, V> node, TreeNode<K, V> target) {
+        while (node != null) {
+            if (node == target) {
+                return true;
+            }
+            int cmp = compareKeys(target.key, node.key);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                node = node.right;
+            } else {
+                if (containsNode(node.left, target)) {
+                    return true;
+                }
+                node = node.right;
+            }
+        }
+        return false;
+    }
+    
+    private static int height(TreeNode<?, ?> node) {
+        return node == null ? 0 : node.height;
+    }
+    
+    private TreeNode<K, V> rebalance(TreeNode<K, V> node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+    
+    private TreeNode<K, V> rotateRight(TreeNode<K, V> node) {
+        TreeNode<K, V> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+        pivot.height = Math.max(height(pivot.left), height(pivot.right)) + 1;
+        return pivot;
+    }
+    
+    private TreeNode<K, V> rotateLeft(TreeNode<K, V> node) {
+        TreeNode<K, V> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+        pivot.height = Math.max(height(pivot.left), height(pivot.right)) + 1;
+        return pivot;
+    }
+    
+    /**
+     * Снимок метрик таблицы. Счетчики копируются без обхода бакетов,
+     * поэтому метод дешев и подходит для периодического опроса
+     * @return неизменяемый снимок статистики
+     */
+    public HashTableStats stats() {
+        return new HashTableStats(size, capacity, resizeCount, collisionCount, maxChainLength,
+                getCount, putCount, removeCount, hitCount, missCount,
+                probeHistogram.clone(), resizeNanosTotal, resizeNanosMax, oldBuckets != null);
+    }
+    
+    /**
+     * Публикация снимка метрик во внешнюю систему мониторинга
+     * @param tableName имя таблицы в метриках
+     * @param sink приемник метрик
+     */
+    public void publishStats(String tableName, HashTableMetricsSink sink) {
+        sink.publish(tableName, stats());
+    }
+    
+    /**
+     * Вывод статистики таблицы (для отладки; в production используйте {@link #stats()})
      */
     public void printStatistics() {
+        finishMigration();
+        HashTableStats stats = stats();
         int[] chainLengths = new int[capacity];
         int nonEmptyBuckets = 0;
         int totalChainLength = 0;
+        int treeBins = 0;
         
         for (int i = 0; i < capacity; i++) {
+            if (buckets[i] instanceof TreeNode) {
+                treeBins++;
+            }
             int length = 0;
             Entry<K, V> current = buckets[i];
             while (current != null) {
@@ -438,17 +1136,22 @@ public class HashTable<K, V> implements Iterable<K> {
         }
         
         double avgChainLength = nonEmptyBuckets > 0 ? (double) totalChainLength / nonEmptyBuckets : 0;
-        double loadFactor = (double) size / capacity;
         
         System.out.println("=== HashTable Statistics ===");
-        System.out.println("Size: " + size);
-        System.out.println("Capacity: " + capacity);
-        System.out.println("Load factor: " + String.format("%.2f", loadFactor));
+        System.out.println("Size: " + stats.getSize());
+        System.out.println("Capacity: " + stats.getCapacity());
+        System.out.println("Load factor: " + String.format("%.2f", stats.getLoadFactor()));
         System.out.println("Non-empty buckets: " + nonEmptyBuckets + "/" + capacity);
-        System.out.println("Max chain length: " + maxChainLength);
+        System.out.println("Max chain length: " + stats.getMaxChainLength());
         System.out.println("Average chain length: " + String.format("%.2f", avgChainLength));
-        System.out.println("Collisions: " + collisionCount);
-        System.out.println("Resizes: " + resizeCount);
+        System.out.println("Tree bins: " + treeBins);
+        System.out.println("Collisions: " + stats.getCollisionCount());
+        System.out.println("Resizes: " + stats.getResizeCount());
+        System.out.println("Gets/puts/removes: " + stats.getGetCount() + "/" + stats.getPutCount() + "/" + stats.getRemoveCount());
+        System.out.println("Hit rate: " + String.format("%.2f", stats.getHitRate()));
+        System.out.println("Mean probe length: " + String.format("%.2f", stats.getMeanProbeLength()));
+        System.out.println("Resize time: " + stats.getResizeNanosTotal() / 1_000 + " us total, "
+                + stats.getResizeNanosMax() / 1_000 + " us max pause");
     }
     
     @Override
@@ -457,6 +1160,8 @@ public class HashTable<K, V> implements Iterable<K> {
             return "{}";
         }
         
+        finishMigration();
+        
         StringBuilder sb = new StringBuilder();
         sb.append("{");
         boolean first = true;
@@ -486,6 +1191,7 @@ public class HashTable<K, V> implements Iterable<K> {
         protected int entriesVisited = 0;
         
         HashTableIterator() {
+            finishMigration();
             findNextEntry();
         }
         
@@ -560,6 +1266,163 @@ public class HashTable<K, V> implements Iterable<K> {
         }
     }
     
+    /**
+     * Базовый сплитератор по диапазону бакетов [index, fence).
+     * trySplit отдает первую половину диапазона; после деления размер
+     * частей известен только приблизительно, поэтому SIZED сообщает
+     * лишь исходный сплитератор и только до первого деления,
+     * а SUBSIZED не сообщается
+     */
+    private abstract class BucketSpliterator<T> implements Spliterator<T> {
+        protected final Entry<K, V>[] table;
+        protected int index;
+        protected final int fence;
+        protected int estimate;
+        protected boolean exact;
+        protected Entry<K, V> current;
+        
+        BucketSpliterator(Entry<K, V>[] table, int origin, int fence, int estimate, boolean exact) {
+            this.table = table;
+            this.index = origin;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.exact = exact;
+        }
+        
+        protected abstract T extract(Entry<K, V> entry);
+        
+        protected abstract BucketSpliterator<T> create(int origin, int fence, int estimate);
+        
+        protected abstract int baseCharacteristics();
+        
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            while (current != null || index < fence) {
+                if (current == null) {
+                    current = table[index++];
+                } else {
+                    Entry<K, V> entry = current;
+                    current = current.next;
+                    action.accept(extract(entry));
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            for (Entry<K, V> entry = current; entry != null; entry = entry.next) {
+                action.accept(extract(entry));
+            }
+            current = null;
+            int hi = fence;
+            for (int i = index; i < hi; i++) {
+                for (Entry<K, V> entry = table[i]; entry != null; entry = entry.next) {
+                    action.accept(extract(entry));
+                }
+            }
+            index = hi;
+        }
+        
+        @Override
+        public Spliterator<T> trySplit() {
+            int lo = index;
+            int mid = (lo + fence) >>> 1;
+            if (lo >= mid || current != null) {
+                return null;
+            }
+            index = mid;
+            estimate >>>= 1;
+            exact = false;
+            return create(lo, mid, estimate);
+        }
+        
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+        
+        @Override
+        public int characteristics() {
+            return baseCharacteristics() | (exact ? Spliterator.SIZED : 0);
+        }
+    }
+    
+    /**
+     * Сплитератор по ключам
+     */
+    private final class KeySpliterator extends BucketSpliterator<K> {
+        KeySpliterator(Entry<K, V>[] table, int origin, int fence, int estimate, boolean exact) {
+            super(table, origin, fence, estimate, exact);
+        }
+        
+        @Override
+        protected K extract(Entry<K, V> entry) {
+            return entry.key;
+        }
+        
+        @Override
+        protected BucketSpliterator<K> create(int origin, int fence, int estimate) {
+            return new KeySpliterator(table, origin, fence, estimate, false);
+        }
+        
+        @Override
+        protected int baseCharacteristics() {
+            return Spliterator.DISTINCT | Spliterator.NONNULL;
+        }
+    }
+    
+    /**
+     * Сплитератор по значениям (значения могут быть null и повторяться)
+     */
+    private final class ValueSpliterator extends BucketSpliterator<V> {
+        ValueSpliterator(Entry<K, V>[] table, int origin, int fence, int estimate, boolean exact) {
+            super(table, origin, fence, estimate, exact);
+        }
+        
+        @Override
+        protected V extract(Entry<K, V> entry) {
+            return entry.value;
+        }
+        
+        @Override
+        protected BucketSpliterator<V> create(int origin, int fence, int estimate) {
+            return new ValueSpliterator(table, origin, fence, estimate, false);
+        }
+        
+        @Override
+        protected int baseCharacteristics() {
+            return 0;
+        }
+    }
+    
+    /**
+     * Сплитератор по записям
+     */
+    private final class EntrySpliterator extends BucketSpliterator<Map.Entry<K, V>> {
+        EntrySpliterator(Entry<K, V>[] table, int origin, int fence, int estimate, boolean exact) {
+            super(table, origin, fence, estimate, exact);
+        }
+        
+        @Override
+        protected Map.Entry<K, V> extract(Entry<K, V> entry) {
+            return new AbstractMap.SimpleEntry<>(entry.key, entry.value);
+        }
+        
+        @Override
+        protected BucketSpliterator<Map.Entry<K, V>> create(int origin, int fence, int estimate) {
+            return new EntrySpliterator(table, origin, fence, estimate, false);
+        }
+        
+        @Override
+        protected int baseCharacteristics() {
+            return Spliterator.DISTINCT | Spliterator.NONNULL;
+        }
+    }
+    
     // Методы для тестирования и отладки
     
     /**
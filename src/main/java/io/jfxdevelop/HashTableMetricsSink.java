@@ -0,0 +1,17 @@
+package io.jfxdevelop;
+
+/**
+ * Приемник метрик хеш-таблиц (JFR, Micrometer, лог и т.п.).
+ * Вызывается с периодичностью, которую выбирает вызывающий код,
+ * например через {@link HashTable#publishStats(String, HashTableMetricsSink)}
+ */
+@FunctionalInterface
+public interface HashTableMetricsSink {
+
+    /**
+     * Публикация снимка метрик
+     * @param tableName имя таблицы
+     * @param stats снимок метрик
+     */
+    void publish(String tableName, HashTableStats stats);
+}
@@ -0,0 +1,195 @@
+package io.jfxdevelop;
+
+import java.util.Arrays;
+
+/**
+ * Неизменяемый снимок метрик {@link HashTable}.
+ * Создается методом {@link HashTable#stats()} без обхода бакетов:
+ * все значения копируются из счетчиков, которые таблица ведет на каждой операции
+ *
+ * Гистограмма длин поиска: элемент i - количество операций get/put,
+ * сравнивших ровно i ключей; последний элемент накапливает все более длинные поиски
+ */
+public final class HashTableStats {
+
+    private final int size;
+    private final int capacity;
+    private final int resizeCount;
+    private final int collisionCount;
+    private final int maxChainLength;
+    private final long getCount;
+    private final long putCount;
+    private final long removeCount;
+    private final long hitCount;
+    private final long missCount;
+    private final long[] probeHistogram;
+    private final long resizeNanosTotal;
+    private final long resizeNanosMax;
+    private final boolean migrating;
+
+    HashTableStats(int size, int capacity, int resizeCount, int collisionCount, int maxChainLength,
+                   long getCount, long putCount, long removeCount, long hitCount, long missCount,
+                   long[] probeHistogram, long resizeNanosTotal, long resizeNanosMax, boolean migrating) {
+        this.size = size;
+        this.capacity = capacity;
+        this.resizeCount = resizeCount;
+        this.collisionCount = collisionCount;
+        this.maxChainLength = maxChainLength;
+        this.getCount = getCount;
+        this.putCount = putCount;
+        this.removeCount = removeCount;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.probeHistogram = probeHistogram;
+        this.resizeNanosTotal = resizeNanosTotal;
+        this.resizeNanosMax = resizeNanosMax;
+        this.migrating = migrating;
+    }
+
+    /**
+     * @return количество элементов
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return количество бакетов
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return текущий коэффициент заполнения
+     */
+    public double getLoadFactor() {
+        return (double) size / capacity;
+    }
+
+    /**
+     * @return количество перехеширований
+     */
+    public int getResizeCount() {
+        return resizeCount;
+    }
+
+    /**
+     * @return количество вставок в непустой бакет с последнего resize
+     */
+    public int getCollisionCount() {
+        return collisionCount;
+    }
+
+    /**
+     * @return максимальная длина цепочки с последнего resize
+     */
+    public int getMaxChainLength() {
+        return maxChainLength;
+    }
+
+    /**
+     * @return количество вызовов get
+     */
+    public long getGetCount() {
+        return getCount;
+    }
+
+    /**
+     * @return количество вызовов put
+     */
+    public long getPutCount() {
+        return putCount;
+    }
+
+    /**
+     * @return количество вызовов remove
+     */
+    public long getRemoveCount() {
+        return removeCount;
+    }
+
+    /**
+     * @return количество get, нашедших ключ
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return количество get, не нашедших ключ
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return доля успешных get или 0 если get не вызывался
+     */
+    public double getHitRate() {
+        long lookups = hitCount + missCount;
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+
+    /**
+     * @return копия гистограммы длин поиска
+     */
+    public long[] getProbeHistogram() {
+        return probeHistogram.clone();
+    }
+
+    /**
+     * Средняя длина поиска по гистограмме (длинные поиски учитываются
+     * по нижней границе последнего элемента)
+     * @return среднее количество сравнений ключей на get/put
+     */
+    public double getMeanProbeLength() {
+        long operations = 0;
+        long total = 0;
+        for (int i = 0; i < probeHistogram.length; i++) {
+            operations += probeHistogram[i];
+            total += probeHistogram[i] * i;
+        }
+        return operations == 0 ? 0 : (double) total / operations;
+    }
+
+    /**
+     * @return суммарное время перехеширований в наносекундах
+     */
+    public long getResizeNanosTotal() {
+        return resizeNanosTotal;
+    }
+
+    /**
+     * @return самая длинная пауза на перехеширование в наносекундах
+     */
+    public long getResizeNanosMax() {
+        return resizeNanosMax;
+    }
+
+    /**
+     * @return true если идет инкрементальный перенос бакетов
+     */
+    public boolean isMigrating() {
+        return migrating;
+    }
+
+    @Override
+    public String toString() {
+        return "HashTableStats{size=" + size
+                + ", capacity=" + capacity
+                + ", loadFactor=" + String.format("%.2f", getLoadFactor())
+                + ", gets=" + getCount
+                + ", puts=" + putCount
+                + ", removes=" + removeCount
+                + ", hitRate=" + String.format("%.2f", getHitRate())
+                + ", meanProbeLength=" + String.format("%.2f", getMeanProbeLength())
+                + ", probeHistogram=" + Arrays.toString(probeHistogram)
+                + ", maxChainLength=" + maxChainLength
+                + ", collisions=" + collisionCount
+                + ", resizes=" + resizeCount
+                + ", resizeNanosTotal=" + resizeNanosTotal
+                + ", resizeNanosMax=" + resizeNanosMax
+                + ", migrating=" + migrating + "}";
+    }
+}
@@ -0,0 +1,68 @@
+package io.jfxdevelop;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.Timespan;
+
+/**
+ * Событие JFR со снимком метрик {@link HashTable}.
+ * Публикуется через {@link JfrHashTableMetricsSink}
+ */
+@Name("io.jfxdevelop.HashTableStats")
+@Label("Hash Table Statistics")
+@Category("Data Structures")
+@Description("Periodic snapshot of HashTable counters")
+@Period("10 s")
+class HashTableStatsEvent extends Event {
+
+    @Label("Table Name")
+    String tableName;
+
+    @Label("Size")
+    int size;
+
+    @Label("Capacity")
+    int capacity;
+
+    @Label("Load Factor")
+    double loadFactor;
+
+    @Label("Gets")
+    long getCount;
+
+    @Label("Puts")
+    long putCount;
+
+    @Label("Removes")
+    long removeCount;
+
+    @Label("Hit Rate")
+    double hitRate;
+
+    @Label("Mean Probe Length")
+    double meanProbeLength;
+
+    @Label("Probe Histogram")
+    String probeHistogram;
+
+    @Label("Max Chain Length")
+    int maxChainLength;
+
+    @Label("Collisions")
+    int collisionCount;
+
+    @Label("Resizes")
+    int resizeCount;
+
+    @Label("Total Resize Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long resizeNanosTotal;
+
+    @Label("Max Resize Pause")
+    @Timespan(Timespan.NANOSECONDS)
+    long resizeNanosMax;
+}
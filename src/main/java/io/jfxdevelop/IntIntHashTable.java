@@ -0,0 +1,384 @@
+package io.jfxdevelop;
+
+import java.util.Arrays;
+
+/**
+ * Хеш-таблица с примитивными ключами и значениями int без упаковки.
+ * Открытая адресация с линейным пробированием и удалением обратным сдвигом,
+ * емкость - степень двойки, распределение хеша как в {@link HashTable}.
+ * Ключ 0 служит маркером пустого слота, поэтому его пара хранится отдельно.
+ * Операции get/put/remove не создают объектов
+ */
+public class IntIntHashTable {
+
+    /**
+     * Потребитель пар ключ-значение без упаковки
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(int key, int value);
+    }
+
+    // Основные поля
+    private int[] keys;
+    private int[] values;
+    private boolean hasZeroKey;
+    private int zeroValue;
+    private int size;
+    private int capacity;
+    private int resizeCount;
+
+    // Константы
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final double LOAD_FACTOR = 0.5;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int EMPTY = 0;
+
+    /**
+     * Конструктор по умолчанию
+     */
+    public IntIntHashTable() {
+        this.capacity = DEFAULT_CAPACITY;
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+    }
+
+    /**
+     * Конструктор с заданной начальной емкостью
+     * @param initialCapacity начальная емкость
+     * @throws IllegalArgumentException если емкость <= 0
+     */
+    public IntIntHashTable(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be greater than 0");
+        }
+        this.capacity = findNextPowerOfTwo(initialCapacity);
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+    }
+
+    /**
+     * Вычисление индекса слота для ключа
+     * @param key ключ
+     * @return индекс в массиве keys
+     */
+    private int hash(int key) {
+        // Распределение хеша для лучшего распределения
+        return (key ^ (key >>> 16)) & (capacity - 1);
+    }
+
+    /**
+     * Поиск слота с заданным ненулевым ключом
+     * @param key ключ
+     * @return индекс слота или -1 если ключ не найден
+     */
+    private int findSlot(int key) {
+        int mask = capacity - 1;
+        int index = hash(key);
+        int current;
+        while ((current = keys[index]) != EMPTY) {
+            if (current == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Добавление пары ключ-значение
+     * @param key ключ
+     * @param value значение
+     */
+    public void put(int key, int value) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+
+        int mask = capacity - 1;
+        int index = hash(key);
+        int current;
+        while ((current = keys[index]) != EMPTY) {
+            if (current == key) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        size++;
+
+        if ((double) size / capacity > LOAD_FACTOR) {
+            resize();
+        }
+    }
+
+    /**
+     * Получение значения по ключу
+     * @param key ключ
+     * @return значение или 0 если ключ не найден
+     */
+    public int get(int key) {
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     * Получение значения по ключу или значения по умолчанию
+     * @param key ключ
+     * @param defaultValue значение по умолчанию
+     * @return значение или defaultValue если ключ не найден
+     */
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == EMPTY) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int index = findSlot(key);
+        return index < 0 ? defaultValue : values[index];
+    }
+
+    /**
+     * Удаление элемента по ключу
+     * @param key ключ
+     * @return удаленное значение или 0 если ключ не найден
+     */
+    public int remove(int key) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                return 0;
+            }
+            int removed = zeroValue;
+            hasZeroKey = false;
+            zeroValue = 0;
+            size--;
+            return removed;
+        }
+
+        int index = findSlot(key);
+        if (index < 0) {
+            return 0;
+        }
+        int removed = values[index];
+        shiftBackward(index);
+        size--;
+        return removed;
+    }
+
+    /**
+     * Удаление обратным сдвигом без "надгробий"
+     * @param hole индекс освобождаемого слота
+     */
+    private void shiftBackward(int hole) {
+        int mask = capacity - 1;
+        int index = hole;
+        while (true) {
+            index = (index + 1) & mask;
+            int key = keys[index];
+            if (key == EMPTY) {
+                break;
+            }
+            int home = hash(key);
+            if (((index - home) & mask) >= ((index - hole) & mask)) {
+                keys[hole] = key;
+                values[hole] = values[index];
+                hole = index;
+            }
+        }
+        keys[hole] = EMPTY;
+        values[hole] = 0;
+    }
+
+    /**
+     * Проверка наличия ключа
+     * @param key ключ
+     * @return true если ключ существует
+     */
+    public boolean containsKey(int key) {
+        return key == EMPTY ? hasZeroKey : findSlot(key) >= 0;
+    }
+
+    /**
+     * @return количество элементов
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true если таблица пуста
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Очистка таблицы
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, 0);
+        hasZeroKey = false;
+        zeroValue = 0;
+        size = 0;
+    }
+
+    /**
+     * Обход всех пар без упаковки
+     * @param action потребитель пар
+     */
+    public void forEach(EntryConsumer action) {
+        if (hasZeroKey) {
+            action.accept(EMPTY, zeroValue);
+        }
+        for (int i = 0; i < capacity; i++) {
+            if (keys[i] != EMPTY) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Получение всех ключей
+     * @return массив ключей
+     */
+    public int[] keys() {
+        int[] result = new int[size];
+        int n = 0;
+        if (hasZeroKey) {
+            result[n++] = EMPTY;
+        }
+        for (int i = 0; i < capacity; i++) {
+            if (keys[i] != EMPTY) {
+                result[n++] = keys[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Получение всех значений
+     * @return массив значений
+     */
+    public int[] values() {
+        int[] result = new int[size];
+        int n = 0;
+        if (hasZeroKey) {
+            result[n++] = zeroValue;
+        }
+        for (int i = 0; i < capacity; i++) {
+            if (keys[i] != EMPTY) {
+                result[n++] = values[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Изменение размера таблицы при превышении load factor
+     */
+    private void resize() {
+        if (capacity >= MAX_CAPACITY) {
+            return;
+        }
+
+        int oldCapacity = capacity;
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        capacity *= 2;
+        keys = new int[capacity];
+        values = new int[capacity];
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldCapacity; i++) {
+            int key = oldKeys[i];
+            if (key == EMPTY) {
+                continue;
+            }
+            int index = hash(key);
+            while (keys[index] != EMPTY) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            values[index] = oldValues[i];
+        }
+
+        resizeCount++;
+    }
+
+    /**
+     * Поиск следующей степени двойки
+     * @param value исходное значение
+     * @return степень двойки
+     */
+    private int findNextPowerOfTwo(int value) {
+        int power = 1;
+        while (power < value && power < MAX_CAPACITY) {
+            power <<= 1;
+        }
+        return power;
+    }
+
+    /**
+     * Вывод статистики таблицы
+     */
+    public void printStatistics() {
+        int mask = capacity - 1;
+        int maxProbeLength = 0;
+        long totalProbeLength = 0;
+        int stored = 0;
+
+        for (int i = 0; i < capacity; i++) {
+            if (keys[i] != EMPTY) {
+                int probeLength = ((i - hash(keys[i])) & mask) + 1;
+                maxProbeLength = Math.max(maxProbeLength, probeLength);
+                totalProbeLength += probeLength;
+                stored++;
+            }
+        }
+
+        double avgProbeLength = stored > 0 ? (double) totalProbeLength / stored : 0;
+        double loadFactor = (double) size / capacity;
+
+        System.out.println("=== IntIntHashTable Statistics ===");
+        System.out.println("Size: " + size);
+        System.out.println("Capacity: " + capacity);
+        System.out.println("Load factor: " + String.format("%.2f", loadFactor));
+        System.out.println("Max probe length: " + maxProbeLength);
+        System.out.println("Average probe length: " + String.format("%.2f", avgProbeLength));
+        System.out.println("Resizes: " + resizeCount);
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "{}";
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        forEach((key, value) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(key).append("=").append(value);
+        });
+        sb.append("}");
+        return sb.toString();
+    }
+
+    // Методы для тестирования и отладки
+
+    /**
+     * Получить текущую емкость (для тестирования)
+     * @return емкость
+     */
+    int getCapacity() {
+        return capacity;
+    }
+}
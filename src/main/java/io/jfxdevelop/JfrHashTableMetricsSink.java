@@ -0,0 +1,62 @@
+package io.jfxdevelop;
+
+import java.util.Arrays;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Приемник метрик, записывающий снимки в Java Flight Recorder
+ * как события {@code io.jfxdevelop.HashTableStats}.
+ * Если запись JFR не ведется, событие не заполняется
+ */
+public class JfrHashTableMetricsSink implements HashTableMetricsSink {
+
+    @Override
+    public void publish(String tableName, HashTableStats stats) {
+        HashTableStatsEvent event = new HashTableStatsEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.tableName = tableName;
+        event.size = stats.getSize();
+        event.capacity = stats.getCapacity();
+        event.loadFactor = stats.getLoadFactor();
+        event.getCount = stats.getGetCount();
+        event.putCount = stats.getPutCount();
+        event.removeCount = stats.getRemoveCount();
+        event.hitRate = stats.getHitRate();
+        event.meanProbeLength = stats.getMeanProbeLength();
+        event.probeHistogram = Arrays.toString(stats.getProbeHistogram());
+        event.maxChainLength = stats.getMaxChainLength();
+        event.collisionCount = stats.getCollisionCount();
+        event.resizeCount = stats.getResizeCount();
+        event.resizeNanosTotal = stats.getResizeNanosTotal();
+        event.resizeNanosMax = stats.getResizeNanosMax();
+        event.commit();
+    }
+
+    /**
+     * Регистрация периодической публикации метрик таблицы средствами JFR
+     * (период задается настройкой записи, по умолчанию 10 секунд).
+     * Снимок читается в потоке JFR без синхронизации, поэтому значения
+     * могут быть слегка рассогласованы - для мониторинга этого достаточно
+     * @param tableName имя таблицы
+     * @param table таблица
+     * @return хук, который нужно передать в {@link #unregister(Runnable)}
+     */
+    public static Runnable registerPeriodic(String tableName, HashTable<?, ?> table) {
+        JfrHashTableMetricsSink sink = new JfrHashTableMetricsSink();
+        Runnable hook = () -> sink.publish(tableName, table.stats());
+        FlightRecorder.addPeriodicEvent(HashTableStatsEvent.class, hook);
+        return hook;
+    }
+
+    /**
+     * Отмена периодической публикации
+     * @param hook хук, возвращенный {@link #registerPeriodic(String, HashTable)}
+     * @return true если хук был зарегистрирован
+     */
+    public static boolean unregister(Runnable hook) {
+        return FlightRecorder.removePeriodicEvent(hook);
+    }
+}
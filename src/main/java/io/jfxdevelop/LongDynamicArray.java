@@ -0,0 +1,173 @@
+package io.jfxdevelop;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.stream.LongStream;
+
+// DynamicArray specialized for long: no boxing on add/get, long[] storage
+public class LongDynamicArray implements Iterable<Long> {
+
+    private long[] array;
+    private int size;
+    private int capacity;
+    private static final int DEFAULT_CAPACITY = 10;
+
+
+    public LongDynamicArray() {
+        this.array = new long[DEFAULT_CAPACITY];
+        this.size = 0;
+        this.capacity = DEFAULT_CAPACITY;
+    }
+
+    public LongDynamicArray(int initCapacity) {
+
+        if (initCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be greater than 0");
+        }
+
+        array = new long[initCapacity];
+        size = 0;
+        this.capacity = initCapacity;
+    }
+
+    public void add(long element) {
+        if (size == capacity) {
+            resize();
+        }
+        array[size++] = element;
+    }
+
+    public void addAll(long[] src, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > src.length - length) {
+            throw new IndexOutOfBoundsException("Range out of bounds");
+        }
+        ensureCapacity(size + length);
+        System.arraycopy(src, offset, array, size, length);
+        size += length;
+    }
+
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("Required array size too large");
+        }
+        if (minCapacity > capacity) {
+            capacity = Math.max(minCapacity, Math.max(capacity * 2, DEFAULT_CAPACITY));
+            array = Arrays.copyOf(array, capacity);
+        }
+    }
+
+    public void resize() {
+        if(size >=   capacity) capacity = Math.max(capacity * 2, DEFAULT_CAPACITY);
+        array = Arrays.copyOf(array, capacity);
+    }
+    public void insert(int index, long element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index out of bounds");
+        }
+        if (size == capacity) {
+            resize();
+        }
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = element;
+        size++;
+    }
+    public long remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index out of bounds");
+        }
+
+        long removedElement = array[index];
+        int numberToMove =  size - index - 1;
+        System.arraycopy(array, index + 1, array, index, numberToMove);
+        size--;
+        return removedElement;
+    }
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index out of bounds");
+        }
+        return array[index];
+    }
+    public void set(int index, long element) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index out of bounds");
+        }
+        array[index] = element;
+    }
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    // primitives hold no references, so only the logical size is reset
+    public void clear() {
+        size = 0;
+    }
+    public int indexOf(long element) {
+        return ArrayKernels.indexOf(array, size, element);
+    }
+    public int count(long element) {
+        return ArrayKernels.count(array, size, element);
+    }
+    public long min() {
+        if (size == 0) throw new NoSuchElementException("Array is empty");
+        return ArrayKernels.min(array, size);
+    }
+    public long max() {
+        if (size == 0) throw new NoSuchElementException("Array is empty");
+        return ArrayKernels.max(array, size);
+    }
+    public long sum() {
+        return ArrayKernels.sum(array, size);
+    }
+    // elements in [lo, hi] as a new array, in their original order
+    public LongDynamicArray filter(long lo, long hi) {
+        long[] kept = ArrayKernels.filterRange(array, size, lo, hi);
+        LongDynamicArray result = new LongDynamicArray(Math.max(kept.length, 1));
+        result.addAll(kept, 0, kept.length);
+        return result;
+    }
+    public boolean contains(long element) {
+        return indexOf(element) != -1;
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(array, size);
+    }
+
+    public LongStream stream() {
+        return Arrays.stream(array, 0, size);
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+            private int index = 0;
+            public boolean hasNext() {
+                return index < size;
+            }
+            public long nextLong() {
+                if (index >= size) throw new NoSuchElementException();
+                return array[index++];
+            }
+        };
+    }
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        for(int i = 0; i < size; i++){
+            sb.append(array[i]);
+            if(i < size - 1){
+                sb.append(", ");
+            }
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+}
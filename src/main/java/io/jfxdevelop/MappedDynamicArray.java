@@ -0,0 +1,312 @@
+package io.jfxdevelop;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Динамический массив записей фиксированной длины, хранящийся в отображенном
+ * в память файле. Данные не занимают кучу и могут быть больше нее:
+ * страницы подгружаются и выгружаются операционной системой.
+ * get/set/add работают прямо с отображением, без промежуточных буферов.
+ * Повторное открытие файла не читает записи - только заголовок.
+ * Записи передаются как byte[] (сериализацию выполняет вызывающий код).
+ * Изменения попадают в файл при закрытии или явном вызове {@link #force()};
+ * массив не потокобезопасен
+ *
+ * Формат файла (little-endian):
+ * [заголовок 32 байта: magic, version, recordSize, резерв, size, резерв]
+ * [записи по recordSize байт]
+ * Отображение больше файла с данными: при росте удваивается и отображается заново
+ */
+public class MappedDynamicArray implements AutoCloseable {
+
+    // Константы формата
+    private static final int MAGIC = 0x44415231;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final long SIZE_OFFSET = 16;
+    private static final long DEFAULT_CAPACITY = 1024;
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    // Основные поля
+    private final FileChannel channel;
+    private final int recordSize;
+    private Arena arena;
+    private MemorySegment segment;
+    private long capacity;
+    private long size;
+
+    private MappedDynamicArray(FileChannel channel, int recordSize, long size, long capacity) throws IOException {
+        this.channel = channel;
+        this.recordSize = recordSize;
+        this.size = size;
+        map(capacity);
+    }
+
+    /**
+     * Создание нового файла массива
+     * @param path файл массива; не должен существовать
+     * @param recordSize длина записи в байтах
+     * @return пустой массив
+     * @throws IOException если файл уже существует или не создается
+     * @throws IllegalArgumentException если recordSize <= 0
+     */
+    public static MappedDynamicArray create(Path path, int recordSize) throws IOException {
+        if (recordSize <= 0) {
+            throw new IllegalArgumentException("Record size must be greater than 0");
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedDynamicArray array = new MappedDynamicArray(channel, recordSize, 0, DEFAULT_CAPACITY);
+            array.segment.set(INT, 0, MAGIC);
+            array.segment.set(INT, 4, VERSION);
+            array.segment.set(INT, 8, recordSize);
+            array.segment.set(LONG, SIZE_OFFSET, 0);
+            return array;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Открытие существующего файла массива; читается только заголовок
+     * @param path файл массива
+     * @return массив с записями файла
+     * @throws IOException если файл не читается или не является массивом
+     */
+    public static MappedDynamicArray open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("Not a MappedDynamicArray file");
+            }
+            try (Arena headerArena = Arena.ofConfined()) {
+                MemorySegment header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE, headerArena);
+                if (header.get(INT, 0) != MAGIC || header.get(INT, 4) != VERSION) {
+                    throw new IOException("Not a MappedDynamicArray file");
+                }
+                int recordSize = header.get(INT, 8);
+                long size = header.get(LONG, SIZE_OFFSET);
+                long capacity = (fileSize - HEADER_SIZE) / Math.max(recordSize, 1);
+                if (recordSize <= 0 || size < 0 || size > capacity) {
+                    throw new IOException("Corrupted MappedDynamicArray file");
+                }
+                return new MappedDynamicArray(channel, recordSize, size, Math.max(capacity, DEFAULT_CAPACITY));
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Отображение файла на заданную емкость; если файл короче, он удлиняется.
+     * Прежняя арена закрывается после создания нового отображения,
+     * поэтому старые срезы {@link #slice(long)} становятся недействительными
+     * @param newCapacity емкость в записях
+     */
+    private void map(long newCapacity) throws IOException {
+        Arena newArena = Arena.ofShared();
+        try {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + newCapacity * recordSize, newArena);
+        } catch (IOException | RuntimeException e) {
+            newArena.close();
+            throw e;
+        }
+        if (arena != null) {
+            arena.close();
+        }
+        arena = newArena;
+        capacity = newCapacity;
+    }
+
+    /**
+     * Удвоение отображения; записи не копируются - файл просто удлиняется
+     */
+    private void grow() {
+        try {
+            map(capacity * 2);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long offsetOf(long index) {
+        return HEADER_SIZE + index * recordSize;
+    }
+
+    /**
+     * Добавление записи в конец; размер сразу записывается в заголовок
+     * @param record запись длины recordSize
+     * @return индекс добавленной записи
+     * @throws UncheckedIOException если файл не удалось удлинить
+     */
+    public long add(byte[] record) {
+        checkRecord(record);
+        if (size == capacity) {
+            grow();
+        }
+        MemorySegment.copy(record, 0, segment, ValueLayout.JAVA_BYTE, offsetOf(size), recordSize);
+        size++;
+        segment.set(LONG, SIZE_OFFSET, size);
+        return size - 1;
+    }
+
+    /**
+     * Получение записи по индексу (создает новый массив)
+     * @param index индекс
+     * @return копия записи
+     */
+    public byte[] get(long index) {
+        byte[] record = new byte[recordSize];
+        get(index, record);
+        return record;
+    }
+
+    /**
+     * Получение записи в переданный буфер без аллокаций
+     * @param index индекс
+     * @param recordOut буфер длины не меньше recordSize
+     */
+    public void get(long index, byte[] recordOut) {
+        checkIndex(index);
+        MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, offsetOf(index), recordOut, 0, recordSize);
+    }
+
+    /**
+     * Срез записи прямо в отображении, без копирования; чтение и запись
+     * через срез действуют на файл. Срез действителен до следующего
+     * роста массива или закрытия
+     * @param index индекс
+     * @return сегмент длины recordSize
+     */
+    public MemorySegment slice(long index) {
+        checkIndex(index);
+        return segment.asSlice(offsetOf(index), recordSize);
+    }
+
+    /**
+     * Замена записи на месте
+     * @param index индекс
+     * @param record запись длины recordSize
+     */
+    public void set(long index, byte[] record) {
+        checkRecord(record);
+        checkIndex(index);
+        MemorySegment.copy(record, 0, segment, ValueLayout.JAVA_BYTE, offsetOf(index), recordSize);
+    }
+
+    /**
+     * Удаление последней записи
+     * @return копия удаленной записи
+     * @throws IndexOutOfBoundsException если массив пуст
+     */
+    public byte[] removeLast() {
+        byte[] record = get(size - 1);
+        size--;
+        segment.set(LONG, SIZE_OFFSET, size);
+        return record;
+    }
+
+    /**
+     * Очистка массива: отображение и файл сохраняют емкость
+     */
+    public void clear() {
+        ensureOpen();
+        size = 0;
+        segment.set(LONG, SIZE_OFFSET, 0);
+    }
+
+    /**
+     * Сброс измененных страниц на диск
+     */
+    public void force() {
+        ensureOpen();
+        segment.force();
+    }
+
+    /**
+     * @return количество записей
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return true если массив пуст
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return емкость текущего отображения в записях
+     */
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return длина записи в байтах
+     */
+    public int recordSize() {
+        return recordSize;
+    }
+
+    /**
+     * Сброс данных на диск, снятие отображения и обрезка файла
+     * до заголовка и size записей
+     * @throws UncheckedIOException если файл не удалось обрезать или закрыть
+     */
+    @Override
+    public void close() {
+        if (arena == null) {
+            return;
+        }
+        segment.force();
+        arena.close();
+        arena = null;
+        segment = null;
+        try (channel) {
+            channel.truncate(offsetOf(size));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void checkRecord(byte[] record) {
+        ensureOpen();
+        if (record == null || record.length != recordSize) {
+            throw new IllegalArgumentException("Record must be " + recordSize + " bytes");
+        }
+    }
+
+    private void checkIndex(long index) {
+        ensureOpen();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void ensureOpen() {
+        if (arena == null) {
+            throw new IllegalStateException("Array is closed");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MappedDynamicArray{size=" + size + ", recordSize=" + recordSize + ", capacity=" + capacity + "}";
+    }
+}
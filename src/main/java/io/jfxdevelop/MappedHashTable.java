@@ -0,0 +1,351 @@
+package io.jfxdevelop;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Неизменяемая хеш-таблица, читающая снимок {@link HashTable} прямо из
+ * отображенного в память файла. Открытие снимка не читает элементы:
+ * страницы подгружаются операционной системой по мере обращения,
+ * а объект создается только для найденного значения.
+ * Создается методом {@link HashTable#open(Path, SnapshotCodec, SnapshotCodec)}
+ *
+ * Формат файла (little-endian):
+ * [заголовок 32 байта: magic, version, size, slotCount, dataOffset]
+ * [slotCount слотов по 16 байт: int hash, int keyLength, long entryOffset]
+ * [записи: int keyLength, int valueLength, байты ключа, байты значения]
+ * Слоты - открытая адресация с линейным пробированием, hash = 0 - пустой слот
+ * hash - {@link OffHeapHashTable}.hash байтов ключа с установленным старшим битом
+ *
+ * @param <K> тип ключей
+ * @param <V> тип значений
+ */
+public class MappedHashTable<K, V> implements Iterable<K>, AutoCloseable {
+
+    // Константы формата
+    private static final int MAGIC = 0x48545331;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int SLOT_SIZE = 16;
+    private static final int ENTRY_HEADER_SIZE = 8;
+    private static final int USED = 0x80000000;
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    // Основные поля
+    private final Arena arena;
+    private final MemorySegment segment;
+    private final SnapshotCodec<K> keyCodec;
+    private final SnapshotCodec<V> valueCodec;
+    private final int size;
+    private final long slotCount;
+    private final long dataOffset;
+    private boolean closed;
+
+    private MappedHashTable(Arena arena, MemorySegment segment, SnapshotCodec<K> keyCodec, SnapshotCodec<V> valueCodec) throws IOException {
+        if (segment.byteSize() < HEADER_SIZE
+                || segment.get(INT, 0) != MAGIC
+                || segment.get(INT, 4) != VERSION) {
+            throw new IOException("Not a HashTable snapshot");
+        }
+        this.arena = arena;
+        this.segment = segment;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.size = (int) segment.get(LONG, 8);
+        this.slotCount = segment.get(LONG, 16);
+        this.dataOffset = segment.get(LONG, 24);
+        if (Long.bitCount(slotCount) != 1 || dataOffset != HEADER_SIZE + slotCount * SLOT_SIZE
+                || dataOffset > segment.byteSize()) {
+            throw new IOException("Corrupted HashTable snapshot");
+        }
+    }
+
+    /**
+     * Отображение файла снимка в память
+     * @param path файл снимка
+     * @param keyCodec кодек ключей
+     * @param valueCodec кодек значений
+     * @return таблица, читающая файл напрямую
+     * @throws IOException если файл не читается или не является снимком
+     */
+    static <K, V> MappedHashTable<K, V> open(Path path, SnapshotCodec<K> keyCodec, SnapshotCodec<V> valueCodec) throws IOException {
+        Objects.requireNonNull(keyCodec);
+        Objects.requireNonNull(valueCodec);
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            return new MappedHashTable<>(arena, segment, keyCodec, valueCodec);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Запись снимка: файл сначала пишется рядом во временный файл,
+     * затем атомарно заменяет целевой
+     * @param path файл снимка
+     * @param entries записи таблицы
+     * @param size количество записей
+     * @param keyCodec кодек ключей
+     * @param valueCodec кодек значений
+     * @throws IOException при ошибке записи
+     * @throws IllegalArgumentException если среди значений есть null
+     */
+    static <K, V> void write(Path path, Iterable<Map.Entry<K, V>> entries, int size,
+                             SnapshotCodec<? super K> keyCodec, SnapshotCodec<? super V> valueCodec) throws IOException {
+        byte[][] keys = new byte[size][];
+        byte[][] values = new byte[size][];
+        long dataSize = 0;
+        int count = 0;
+        for (Map.Entry<K, V> entry : entries) {
+            if (entry.getValue() == null) {
+                throw new IllegalArgumentException("Snapshot does not support null values");
+            }
+            keys[count] = keyCodec.encode(entry.getKey());
+            values[count] = valueCodec.encode(entry.getValue());
+            dataSize += ENTRY_HEADER_SIZE + keys[count].length + values[count].length;
+            count++;
+        }
+
+        long slotCount = 2;
+        while (slotCount < 2L * count) {
+            slotCount <<= 1;
+        }
+        long dataOffset = HEADER_SIZE + slotCount * SLOT_SIZE;
+        long fileSize = dataOffset + dataSize;
+
+        Path absolute = path.toAbsolutePath();
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        try (Arena arena = Arena.ofConfined();
+             FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                     StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize, arena);
+            segment.set(INT, 0, MAGIC);
+            segment.set(INT, 4, VERSION);
+            segment.set(LONG, 8, count);
+            segment.set(LONG, 16, slotCount);
+            segment.set(LONG, 24, dataOffset);
+            segment.asSlice(HEADER_SIZE, slotCount * SLOT_SIZE).fill((byte) 0);
+
+            long mask = slotCount - 1;
+            long offset = dataOffset;
+            for (int i = 0; i < count; i++) {
+                byte[] key = keys[i];
+                byte[] value = values[i];
+                segment.set(INT, offset, key.length);
+                segment.set(INT, offset + 4, value.length);
+                MemorySegment.copy(key, 0, segment, ValueLayout.JAVA_BYTE, offset + ENTRY_HEADER_SIZE, key.length);
+                MemorySegment.copy(value, 0, segment, ValueLayout.JAVA_BYTE, offset + ENTRY_HEADER_SIZE + key.length, value.length);
+
+                int h = OffHeapHashTable.hash(key);
+                long slot = h & mask;
+                while (segment.get(INT, slotOffset(slot)) != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                long slotOffset = slotOffset(slot);
+                segment.set(INT, slotOffset, h | USED);
+                segment.set(INT, slotOffset + 4, key.length);
+                segment.set(LONG, slotOffset + 8, offset);
+
+                offset += ENTRY_HEADER_SIZE + key.length + value.length;
+            }
+            segment.force();
+        }
+        Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static long slotOffset(long slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    /**
+     * Поиск смещения записи по ключу
+     * @param key ключ
+     * @return смещение записи или -1 если ключ не найден
+     */
+    private long findEntry(K key) {
+        ensureOpen();
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        byte[] encoded = keyCodec.encode(key);
+        int h = OffHeapHashTable.hash(encoded) | USED;
+        long mask = slotCount - 1;
+        long slot = h & mask;
+        int header;
+        while ((header = segment.get(INT, slotOffset(slot))) != 0) {
+            long slotOffset = slotOffset(slot);
+            if (header == h && segment.get(INT, slotOffset + 4) == encoded.length) {
+                long entryOffset = segment.get(LONG, slotOffset + 8);
+                long keyOffset = entryOffset + ENTRY_HEADER_SIZE;
+                if (MemorySegment.mismatch(segment, keyOffset, keyOffset + encoded.length,
+                        MemorySegment.ofArray(encoded), 0, encoded.length) < 0) {
+                    return entryOffset;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private K keyAt(long entryOffset) {
+        return keyCodec.decode(segment, entryOffset + ENTRY_HEADER_SIZE, segment.get(INT, entryOffset));
+    }
+
+    private V valueAt(long entryOffset) {
+        int keyLength = segment.get(INT, entryOffset);
+        int valueLength = segment.get(INT, entryOffset + 4);
+        return valueCodec.decode(segment, entryOffset + ENTRY_HEADER_SIZE + keyLength, valueLength);
+    }
+
+    private long nextEntry(long entryOffset) {
+        return entryOffset + ENTRY_HEADER_SIZE + segment.get(INT, entryOffset) + segment.get(INT, entryOffset + 4);
+    }
+
+    /**
+     * Получение значения по ключу
+     * @param key ключ
+     * @return значение или null если ключ не найден
+     * @throws IllegalArgumentException если ключ null
+     */
+    public V get(K key) {
+        long entryOffset = findEntry(key);
+        return entryOffset < 0 ? null : valueAt(entryOffset);
+    }
+
+    /**
+     * Получение значения по ключу или значения по умолчанию
+     * @param key ключ
+     * @param defaultValue значение по умолчанию
+     * @return значение или defaultValue если ключ не найден
+     */
+    public V getOrDefault(K key, V defaultValue) {
+        V value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Проверка наличия ключа (значение не декодируется)
+     * @param key ключ
+     * @return true если ключ существует
+     */
+    public boolean containsKey(K key) {
+        return findEntry(key) >= 0;
+    }
+
+    /**
+     * @return количество элементов
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true если таблица пуста
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Загрузка снимка в обычную изменяемую хеш-таблицу
+     * @return новая HashTable со всеми элементами снимка
+     */
+    public HashTable<K, V> toHashTable() {
+        ensureOpen();
+        HashTable<K, V> table = new HashTable<>(Math.max(size * 2, 1));
+        long entryOffset = dataOffset;
+        for (int i = 0; i < size; i++) {
+            table.put(keyAt(entryOffset), valueAt(entryOffset));
+            entryOffset = nextEntry(entryOffset);
+        }
+        return table;
+    }
+
+    /**
+     * Получение всех ключей
+     * @return список ключей
+     */
+    public List<K> keys() {
+        List<K> keys = new ArrayList<>(size);
+        for (K key : this) {
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    /**
+     * Итератор по ключам: записи читаются последовательно по файлу
+     * @return итератор
+     */
+    @Override
+    public Iterator<K> iterator() {
+        ensureOpen();
+        return new Iterator<K>() {
+            private long entryOffset = dataOffset;
+            private int visited = 0;
+
+            @Override
+            public boolean hasNext() {
+                return visited < size;
+            }
+
+            @Override
+            public K next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("No more elements");
+                }
+                ensureOpen();
+                K key = keyAt(entryOffset);
+                entryOffset = nextEntry(entryOffset);
+                visited++;
+                return key;
+            }
+        };
+    }
+
+    /**
+     * Снятие отображения файла
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            arena.close();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Snapshot is closed");
+        }
+    }
+
+    @Override
+    public String toString() {
+        ensureOpen();
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        long entryOffset = dataOffset;
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(keyAt(entryOffset)).append("=").append(valueAt(entryOffset));
+            entryOffset = nextEntry(entryOffset);
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,409 @@
+package io.jfxdevelop;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+
+/**
+ * Хеш-таблица вне кучи для ключей и значений фиксированной длины.
+ * Слоты лежат в одном {@link MemorySegment}, выделенном из {@link Arena},
+ * поэтому даже сотни миллионов элементов не сканируются сборщиком мусора.
+ * Открытая адресация с линейным пробированием и удалением обратным сдвигом,
+ * как в {@link OpenHashTable}. Ключи и значения передаются как byte[]
+ * (сериализацию выполняет вызывающий код).
+ * Память освобождается явно методом {@link #close()}; таблица не потокобезопасна
+ * и доступна только из создавшего ее потока (арены ограниченные, поэтому
+ * закрытие старой арены при resize не требует синхронизации со всеми потоками)
+ *
+ * Формат слота: [int заголовок][ключ keySize байт][значение valueSize байт],
+ * заголовок 0 - пустой слот, иначе хеш ключа с установленным старшим битом
+ */
+public class OffHeapHashTable implements AutoCloseable {
+
+    // Основные поля
+    private final int keySize;
+    private final int valueSize;
+    private final long slotSize;
+    private Arena arena;
+    private MemorySegment slots;
+    private long capacity;
+    private long size;
+    private int resizeCount;
+    private long collisionCount;
+    private long maxProbeLength;
+
+    // Константы
+    private static final long DEFAULT_CAPACITY = 16;
+    private static final double LOAD_FACTOR = 0.5;
+    // hash() дает 31 бит, поэтому домашние слоты лежат только среди первых 2^31
+    private static final long MAX_CAPACITY = 1L << 31;
+    private static final int HEADER_SIZE = Integer.BYTES;
+    private static final int USED = 0x80000000;
+    private static final ValueLayout.OfInt HEADER = ValueLayout.JAVA_INT_UNALIGNED;
+
+    /**
+     * Конструктор с емкостью по умолчанию
+     * @param keySize длина ключа в байтах
+     * @param valueSize длина значения в байтах
+     * @throws IllegalArgumentException если keySize <= 0 или valueSize < 0
+     */
+    public OffHeapHashTable(int keySize, int valueSize) {
+        this(keySize, valueSize, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Конструктор с заданной начальной емкостью
+     * @param keySize длина ключа в байтах
+     * @param valueSize длина значения в байтах
+     * @param initialCapacity начальное количество слотов
+     * @throws IllegalArgumentException если размеры или емкость некорректны
+     */
+    public OffHeapHashTable(int keySize, int valueSize, long initialCapacity) {
+        if (keySize <= 0) {
+            throw new IllegalArgumentException("Key size must be greater than 0");
+        }
+        if (valueSize < 0) {
+            throw new IllegalArgumentException("Value size cannot be negative");
+        }
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be greater than 0");
+        }
+        this.keySize = keySize;
+        this.valueSize = valueSize;
+        this.slotSize = HEADER_SIZE + keySize + valueSize;
+        this.capacity = findNextPowerOfTwo(initialCapacity);
+        this.arena = Arena.ofConfined();
+        this.slots = arena.allocate(capacity * slotSize, Long.BYTES);
+    }
+
+    /**
+     * Вычисление хеша ключа (старший бит зарезервирован под признак занятости).
+     * Arrays.hashCode для коротких сериализованных чисел дает близкие значения,
+     * поэтому вместо h ^ (h >>> 16) используется финализатор MurmurHash3.
+     * Используется и форматом снимка {@link MappedHashTable}, поэтому
+     * изменение функции делает старые снимки нечитаемыми
+     * @param key ключ
+     * @return хеш
+     */
+    static int hash(byte[] key) {
+        int h = Arrays.hashCode(key);
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h & ~USED;
+    }
+
+    private long offsetOf(long slot) {
+        return slot * slotSize;
+    }
+
+    private int header(long slot) {
+        return slots.get(HEADER, offsetOf(slot));
+    }
+
+    private boolean keyEquals(long slot, byte[] key) {
+        long offset = offsetOf(slot) + HEADER_SIZE;
+        return MemorySegment.mismatch(slots, offset, offset + keySize,
+                MemorySegment.ofArray(key), 0, keySize) < 0;
+    }
+
+    /**
+     * Поиск слота с заданным ключом
+     * @param key ключ
+     * @param h хеш ключа
+     * @return индекс слота или -1 если ключ не найден
+     */
+    private long findSlot(byte[] key, int h) {
+        long mask = capacity - 1;
+        long slot = h & mask;
+        int header;
+        while ((header = header(slot)) != 0) {
+            if (header == (h | USED) && keyEquals(slot, key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Добавление пары ключ-значение
+     * @param key ключ длины keySize
+     * @param value значение длины valueSize
+     * @throws IllegalArgumentException если длины не совпадают
+     * @throws IllegalStateException если таблица закрыта
+     */
+    public void put(byte[] key, byte[] value) {
+        checkKey(key);
+        if (value == null || value.length != valueSize) {
+            throw new IllegalArgumentException("Value must be " + valueSize + " bytes");
+        }
+
+        int h = hash(key);
+        long mask = capacity - 1;
+        long slot = h & mask;
+        long probeLength = 1;
+        int header;
+
+        // Проверка существования ключа
+        while ((header = header(slot)) != 0) {
+            if (header == (h | USED) && keyEquals(slot, key)) {
+                writeValue(slot, value);
+                return;
+            }
+            slot = (slot + 1) & mask;
+            probeLength++;
+        }
+
+        long offset = offsetOf(slot);
+        slots.set(HEADER, offset, h | USED);
+        MemorySegment.copy(key, 0, slots, ValueLayout.JAVA_BYTE, offset + HEADER_SIZE, keySize);
+        writeValue(slot, value);
+        size++;
+
+        if (probeLength > 1) {
+            collisionCount++;
+        }
+        maxProbeLength = Math.max(maxProbeLength, probeLength);
+
+        if ((double) size / capacity > LOAD_FACTOR) {
+            resize();
+        }
+    }
+
+    private void writeValue(long slot, byte[] value) {
+        MemorySegment.copy(value, 0, slots, ValueLayout.JAVA_BYTE, offsetOf(slot) + HEADER_SIZE + keySize, valueSize);
+    }
+
+    /**
+     * Получение значения по ключу (создает новый массив)
+     * @param key ключ
+     * @return копия значения или null если ключ не найден
+     */
+    public byte[] get(byte[] key) {
+        byte[] value = new byte[valueSize];
+        return get(key, value) ? value : null;
+    }
+
+    /**
+     * Получение значения по ключу в переданный буфер без аллокаций
+     * @param key ключ
+     * @param valueOut буфер длины не меньше valueSize
+     * @return true если ключ найден и значение скопировано
+     */
+    public boolean get(byte[] key, byte[] valueOut) {
+        checkKey(key);
+        long slot = findSlot(key, hash(key));
+        if (slot < 0) {
+            return false;
+        }
+        MemorySegment.copy(slots, ValueLayout.JAVA_BYTE, offsetOf(slot) + HEADER_SIZE + keySize, valueOut, 0, valueSize);
+        return true;
+    }
+
+    /**
+     * Удаление элемента по ключу
+     * @param key ключ
+     * @return true если элемент был удален
+     */
+    public boolean remove(byte[] key) {
+        checkKey(key);
+        long slot = findSlot(key, hash(key));
+        if (slot < 0) {
+            return false;
+        }
+        shiftBackward(slot);
+        size--;
+        return true;
+    }
+
+    /**
+     * Удаление обратным сдвигом без "надгробий"
+     * @param hole индекс освобождаемого слота
+     */
+    private void shiftBackward(long hole) {
+        long mask = capacity - 1;
+        long slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            int header = header(slot);
+            if (header == 0) {
+                break;
+            }
+            long home = (header & ~USED) & mask;
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                MemorySegment.copy(slots, offsetOf(slot), slots, offsetOf(hole), slotSize);
+                hole = slot;
+            }
+        }
+        slots.set(HEADER, offsetOf(hole), 0);
+    }
+
+    /**
+     * Проверка наличия ключа
+     * @param key ключ
+     * @return true если ключ существует
+     */
+    public boolean containsKey(byte[] key) {
+        checkKey(key);
+        return findSlot(key, hash(key)) >= 0;
+    }
+
+    /**
+     * @return количество элементов
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return true если таблица пуста
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return объем памяти вне кучи в байтах
+     */
+    public long byteSize() {
+        ensureOpen();
+        return slots.byteSize();
+    }
+
+    /**
+     * Очистка таблицы без освобождения памяти
+     */
+    public void clear() {
+        ensureOpen();
+        slots.fill((byte) 0);
+        size = 0;
+        collisionCount = 0;
+        maxProbeLength = 0;
+    }
+
+    /**
+     * Освобождение памяти вне кучи; после закрытия таблица недоступна
+     */
+    @Override
+    public void close() {
+        if (arena != null) {
+            arena.close();
+            arena = null;
+            slots = null;
+            size = 0;
+        }
+    }
+
+    /**
+     * Изменение размера: новый сегмент выделяется в новой арене,
+     * старая арена закрывается сразу после перехеширования
+     */
+    private void resize() {
+        if (capacity >= MAX_CAPACITY) {
+            return;
+        }
+
+        long oldCapacity = capacity;
+        Arena oldArena = arena;
+        MemorySegment oldSlots = slots;
+
+        capacity *= 2;
+        arena = Arena.ofConfined();
+        slots = arena.allocate(capacity * slotSize, Long.BYTES);
+        collisionCount = 0;
+        maxProbeLength = 0;
+
+        long mask = capacity - 1;
+        for (long i = 0; i < oldCapacity; i++) {
+            long oldOffset = i * slotSize;
+            int header = oldSlots.get(HEADER, oldOffset);
+            if (header == 0) {
+                continue;
+            }
+            long slot = (header & ~USED) & mask;
+            long probeLength = 1;
+            while (header(slot) != 0) {
+                slot = (slot + 1) & mask;
+                probeLength++;
+            }
+            MemorySegment.copy(oldSlots, oldOffset, slots, offsetOf(slot), slotSize);
+            if (probeLength > 1) {
+                collisionCount++;
+            }
+            maxProbeLength = Math.max(maxProbeLength, probeLength);
+        }
+
+        oldArena.close();
+        resizeCount++;
+    }
+
+    /**
+     * Поиск следующей степени двойки
+     * @param value исходное значение
+     * @return степень двойки
+     */
+    private static long findNextPowerOfTwo(long value) {
+        long power = 1;
+        while (power < value && power < MAX_CAPACITY) {
+            power <<= 1;
+        }
+        return power;
+    }
+
+    private void checkKey(byte[] key) {
+        ensureOpen();
+        if (key == null || key.length != keySize) {
+            throw new IllegalArgumentException("Key must be " + keySize + " bytes");
+        }
+    }
+
+    private void ensureOpen() {
+        if (arena == null) {
+            throw new IllegalStateException("Table is closed");
+        }
+    }
+
+    /**
+     * Вывод статистики таблицы
+     */
+    public void printStatistics() {
+        ensureOpen();
+        long mask = capacity - 1;
+        long totalProbeLength = 0;
+
+        for (long i = 0; i < capacity; i++) {
+            int header = header(i);
+            if (header != 0) {
+                totalProbeLength += ((i - ((header & ~USED) & mask)) & mask) + 1;
+            }
+        }
+
+        double avgProbeLength = size > 0 ? (double) totalProbeLength / size : 0;
+        double loadFactor = (double) size / capacity;
+
+        System.out.println("=== OffHeapHashTable Statistics ===");
+        System.out.println("Size: " + size);
+        System.out.println("Capacity: " + capacity);
+        System.out.println("Slot size: " + slotSize + " bytes");
+        System.out.println("Off-heap bytes: " + slots.byteSize());
+        System.out.println("Load factor: " + String.format("%.2f", loadFactor));
+        System.out.println("Max probe length: " + maxProbeLength);
+        System.out.println("Average probe length: " + String.format("%.2f", avgProbeLength));
+        System.out.println("Collisions: " + collisionCount);
+        System.out.println("Resizes: " + resizeCount);
+    }
+
+    // Методы для тестирования и отладки
+
+    /**
+     * Получить текущую емкость (для тестирования)
+     * @return емкость
+     */
+    long getCapacity() {
+        return capacity;
+    }
+}
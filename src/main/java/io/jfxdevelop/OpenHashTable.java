@@ -0,0 +1,566 @@
+package io.jfxdevelop;
+
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Реализация хеш-таблицы с открытой адресацией (линейное пробирование)
+ * Ключи, значения и хеши хранятся в параллельных массивах без объектов Entry,
+ * удаление выполняется обратным сдвигом без "надгробий" (tombstones).
+ * Публичный API совпадает с {@link HashTable}
+ *
+ * @param <K> тип ключей
+ * @param <V> тип значений
+ */
+public class OpenHashTable<K, V> implements Iterable<K> {
+
+    // Основные поля
+    private Object[] keys;
+    private Object[] values;
+    private int[] hashes;
+    private int size;
+    private int capacity;
+    private int resizeCount;
+    private int collisionCount;
+    private int maxProbeLength;
+
+    // Константы
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final double LOAD_FACTOR = 0.5;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * Конструктор по умолчанию
+     */
+    public OpenHashTable() {
+        this.capacity = DEFAULT_CAPACITY;
+        allocate(capacity);
+        this.size = 0;
+        this.resizeCount = 0;
+        this.collisionCount = 0;
+        this.maxProbeLength = 0;
+    }
+
+    /**
+     * Конструктор с заданной начальной емкостью
+     * @param initialCapacity начальная емкость
+     * @throws IllegalArgumentException если емкость <= 0
+     */
+    public OpenHashTable(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be greater than 0");
+        }
+        this.capacity = findNextPowerOfTwo(initialCapacity);
+        allocate(capacity);
+        this.size = 0;
+        this.resizeCount = 0;
+        this.collisionCount = 0;
+        this.maxProbeLength = 0;
+    }
+
+    /**
+     * Конструктор из существующей Map
+     * @param map исходная Map
+     */
+    public OpenHashTable(Map<? extends K, ? extends V> map) {
+        this(Math.max((int) (map.size() / LOAD_FACTOR) + 1, DEFAULT_CAPACITY));
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Выделение параллельных массивов заданной емкости
+     * @param newCapacity емкость
+     */
+    private void allocate(int newCapacity) {
+        this.keys = new Object[newCapacity];
+        this.values = new Object[newCapacity];
+        this.hashes = new int[newCapacity];
+    }
+
+    /**
+     * Вычисление распределенного хеша для ключа
+     * @param key ключ
+     * @return хеш (без наложения маски)
+     */
+    private static int spread(Object key) {
+        int h = key.hashCode();
+        // Распределение хеша для лучшего распределения
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Поиск слота с заданным ключом
+     * @param key ключ
+     * @param h распределенный хеш ключа
+     * @return индекс слота или -1 если ключ не найден
+     */
+    private int findSlot(Object key, int h) {
+        int mask = capacity - 1;
+        int index = h & mask;
+        Object current;
+        while ((current = keys[index]) != null) {
+            if (hashes[index] == h && current.equals(key)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Добавление пары ключ-значение
+     * @param key ключ
+     * @param value значение
+     * @throws IllegalArgumentException если ключ null
+     */
+    public void put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+
+        int h = spread(key);
+        int mask = capacity - 1;
+        int index = h & mask;
+        int probeLength = 1;
+        Object current;
+
+        // Проверка существования ключа
+        while ((current = keys[index]) != null) {
+            if (hashes[index] == h && current.equals(key)) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+            probeLength++;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        hashes[index] = h;
+        size++;
+
+        // Подсчет коллизий и максимальной длины пробирования
+        if (probeLength > 1) {
+            collisionCount++;
+        }
+        maxProbeLength = Math.max(maxProbeLength, probeLength);
+
+        // Проверка необходимости resize
+        if ((double) size / capacity > LOAD_FACTOR) {
+            resize();
+        }
+    }
+
+    /**
+     * Получение значения по ключу
+     * @param key ключ
+     * @return значение или null если ключ не найден
+     * @throws IllegalArgumentException если ключ null
+     */
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        int index = findSlot(key, spread(key));
+        return index < 0 ? null : (V) values[index];
+    }
+
+    /**
+     * Получение значения по ключу или значения по умолчанию
+     * @param key ключ
+     * @param defaultValue значение по умолчанию
+     * @return значение или defaultValue если ключ не найден
+     */
+    public V getOrDefault(K key, V defaultValue) {
+        V value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Удаление элемента по ключу
+     * @param key ключ
+     * @return удаленное значение или null если ключ не найден
+     * @throws IllegalArgumentException если ключ null
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+
+        int index = findSlot(key, spread(key));
+        if (index < 0) {
+            return null;
+        }
+
+        V removed = (V) values[index];
+        shiftBackward(index);
+        size--;
+        return removed;
+    }
+
+    /**
+     * Удаление обратным сдвигом: последующие элементы кластера
+     * переносятся в освободившийся слот, если это не уводит их
+     * раньше их домашнего бакета
+     * @param hole индекс освобождаемого слота
+     */
+    private void shiftBackward(int hole) {
+        int mask = capacity - 1;
+        int index = hole;
+        while (true) {
+            index = (index + 1) & mask;
+            if (keys[index] == null) {
+                break;
+            }
+            int home = hashes[index] & mask;
+            if (((index - home) & mask) >= ((index - hole) & mask)) {
+                keys[hole] = keys[index];
+                values[hole] = values[index];
+                hashes[hole] = hashes[index];
+                hole = index;
+            }
+        }
+        keys[hole] = null;
+        values[hole] = null;
+        hashes[hole] = 0;
+    }
+
+    /**
+     * Проверка наличия ключа
+     * @param key ключ
+     * @return true если ключ существует
+     */
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        return get(key) != null;
+    }
+
+    /**
+     * Проверка наличия значения
+     * @param value значение
+     * @return true если значение существует
+     */
+    public boolean containsValue(V value) {
+        for (int i = 0; i < capacity; i++) {
+            if (keys[i] != null && Objects.equals(values[i], value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return количество элементов
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true если таблица пуста
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Очистка таблицы
+     */
+    public void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        Arrays.fill(hashes, 0);
+        this.size = 0;
+        this.collisionCount = 0;
+        this.maxProbeLength = 0;
+    }
+
+    /**
+     * Получение всех ключей
+     * @return список ключей
+     */
+    public List<K> keys() {
+        List<K> result = new ArrayList<>(size);
+        for (K key : this) {
+            result.add(key);
+        }
+        return result;
+    }
+
+    /**
+     * Получение всех значений
+     * @return список значений
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size);
+        for (int i = 0; i < capacity; i++) {
+            if (keys[i] != null) {
+                result.add((V) values[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Получение всех записей
+     * @return список записей
+     */
+    @SuppressWarnings("unchecked")
+    public List<Map.Entry<K, V>> entries() {
+        List<Map.Entry<K, V>> result = new ArrayList<>(size);
+        for (int i = 0; i < capacity; i++) {
+            if (keys[i] != null) {
+                result.add(new AbstractMap.SimpleEntry<>((K) keys[i], (V) values[i]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Итератор по ключам
+     * @return итератор
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return new KeyIterator();
+    }
+
+    /**
+     * Итератор по значениям
+     * @return итерируемый объект
+     */
+    public Iterable<V> valuesIterable() {
+        return () -> new ValueIterator();
+    }
+
+    /**
+     * Итератор по записям
+     * @return итерируемый объект
+     */
+    public Iterable<Map.Entry<K, V>> entriesIterable() {
+        return () -> new EntryIterator();
+    }
+
+    /**
+     * Поток ключей
+     * @return поток ключей
+     */
+    public Stream<K> keyStream() {
+        return StreamSupport.stream(Spliterators.spliterator(iterator(), size, 0), false);
+    }
+
+    /**
+     * Поток значений
+     * @return поток значений
+     */
+    public Stream<V> valueStream() {
+        return StreamSupport.stream(Spliterators.spliterator(valuesIterable().iterator(), size, 0), false);
+    }
+
+    /**
+     * Поток записей
+     * @return поток записей
+     */
+    public Stream<Map.Entry<K, V>> entryStream() {
+        return StreamSupport.stream(Spliterators.spliterator(entriesIterable().iterator(), size, 0), false);
+    }
+
+    /**
+     * Изменение размера таблицы при превышении load factor.
+     * Хеши сохранены в массиве, поэтому hashCode() повторно не вызывается
+     */
+    private void resize() {
+        if (capacity >= MAX_CAPACITY) {
+            return;
+        }
+
+        int oldCapacity = capacity;
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+
+        capacity *= 2;
+        allocate(capacity);
+        collisionCount = 0;
+        maxProbeLength = 0;
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldCapacity; i++) {
+            if (oldKeys[i] == null) {
+                continue;
+            }
+            int h = oldHashes[i];
+            int index = h & mask;
+            int probeLength = 1;
+            while (keys[index] != null) {
+                index = (index + 1) & mask;
+                probeLength++;
+            }
+            keys[index] = oldKeys[i];
+            values[index] = oldValues[i];
+            hashes[index] = h;
+            if (probeLength > 1) {
+                collisionCount++;
+            }
+            maxProbeLength = Math.max(maxProbeLength, probeLength);
+        }
+
+        resizeCount++;
+    }
+
+    /**
+     * Поиск следующей степени двойки
+     * @param value исходное значение
+     * @return степень двойки
+     */
+    private int findNextPowerOfTwo(int value) {
+        int power = 1;
+        while (power < value && power < MAX_CAPACITY) {
+            power <<= 1;
+        }
+        return power;
+    }
+
+    /**
+     * Вывод статистики таблицы
+     */
+    public void printStatistics() {
+        int mask = capacity - 1;
+        long totalProbeLength = 0;
+
+        for (int i = 0; i < capacity; i++) {
+            if (keys[i] != null) {
+                totalProbeLength += ((i - (hashes[i] & mask)) & mask) + 1;
+            }
+        }
+
+        double avgProbeLength = size > 0 ? (double) totalProbeLength / size : 0;
+        double loadFactor = (double) size / capacity;
+
+        System.out.println("=== OpenHashTable Statistics ===");
+        System.out.println("Size: " + size);
+        System.out.println("Capacity: " + capacity);
+        System.out.println("Load factor: " + String.format("%.2f", loadFactor));
+        System.out.println("Max probe length: " + maxProbeLength);
+        System.out.println("Average probe length: " + String.format("%.2f", avgProbeLength));
+        System.out.println("Collisions: " + collisionCount);
+        System.out.println("Resizes: " + resizeCount);
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "{}";
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        boolean first = true;
+
+        for (int i = 0; i < capacity; i++) {
+            if (keys[i] == null) {
+                continue;
+            }
+            if (!first) {
+                sb.append(", ");
+            }
+            sb.append(keys[i]).append("=").append(values[i]);
+            first = false;
+        }
+
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /**
+     * Базовый итератор по занятым слотам
+     */
+    private abstract class SlotIterator<T> implements Iterator<T> {
+        protected int slot = -1;
+        protected int entriesVisited = 0;
+
+        @Override
+        public boolean hasNext() {
+            return entriesVisited < size;
+        }
+
+        protected int nextSlot() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements");
+            }
+            do {
+                slot++;
+            } while (keys[slot] == null);
+            entriesVisited++;
+            return slot;
+        }
+    }
+
+    /**
+     * Итератор по ключам
+     */
+    private class KeyIterator extends SlotIterator<K> {
+        @Override
+        @SuppressWarnings("unchecked")
+        public K next() {
+            return (K) keys[nextSlot()];
+        }
+    }
+
+    /**
+     * Итератор по значениям
+     */
+    private class ValueIterator extends SlotIterator<V> {
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            return (V) values[nextSlot()];
+        }
+    }
+
+    /**
+     * Итератор по записям
+     */
+    private class EntryIterator extends SlotIterator<Map.Entry<K, V>> {
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map.Entry<K, V> next() {
+            int index = nextSlot();
+            return new AbstractMap.SimpleEntry<>((K) keys[index], (V) values[index]);
+        }
+    }
+
+    // Методы для тестирования и отладки
+
+    /**
+     * Получить текущую емкость (для тестирования)
+     * @return емкость
+     */
+    int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Получить количество коллизий (для тестирования)
+     * @return количество коллизий
+     */
+    int getCollisionCount() {
+        return collisionCount;
+    }
+
+    /**
+     * Получить максимальную длину пробирования (для тестирования)
+     * @return максимальная длина пробирования
+     */
+    int getMaxProbeLength() {
+        return maxProbeLength;
+    }
+}
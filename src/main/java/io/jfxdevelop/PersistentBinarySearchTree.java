@@ -0,0 +1,191 @@
+package io.jfxdevelop;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Immutable AVL tree: insert/remove copy only the root-to-leaf path (O(log n) nodes)
+// and share every untouched subtree, so any tree value is a free point-in-time snapshot
+public final class PersistentBinarySearchTree <T extends Comparable<T>> implements Iterable<T> {
+    private static final class Node<T> {
+        final Node<T> left;
+        final Node<T> right;
+        final T data;
+        final int height;
+        final int size;
+
+        Node(Node<T> left, T data, Node<T> right){
+            this.left = left;
+            this.right = right;
+            this.data = data;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+        }
+    }
+
+    private static final PersistentBinarySearchTree<?> EMPTY = new PersistentBinarySearchTree<>(null);
+
+    private final Node<T> root;
+
+    private PersistentBinarySearchTree(Node<T> root){
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T extends Comparable<T>> PersistentBinarySearchTree<T> empty() {
+        return (PersistentBinarySearchTree<T>) EMPTY;
+    }
+
+    // returns this tree if the element is already present
+    public PersistentBinarySearchTree<T> insert(T element){
+        if(element == null) throw new IllegalArgumentException("Cannot be insert element null");
+        Node<T> newRoot = insertRecursive(root, element);
+        return newRoot == root ? this : new PersistentBinarySearchTree<>(newRoot);
+    }
+
+    private static <T extends Comparable<T>> Node<T> insertRecursive(Node<T> current, T element){
+        if (current == null) return new Node<>(null, element, null);
+        int cmp = element.compareTo(current.data);
+        if (cmp < 0) {
+            Node<T> left = insertRecursive(current.left, element);
+            return left == current.left ? current : balance(left, current.data, current.right);
+        } else if (cmp > 0) {
+            Node<T> right = insertRecursive(current.right, element);
+            return right == current.right ? current : balance(current.left, current.data, right);
+        }
+        // duplicate, share the existing node
+        return current;
+    }
+
+    public boolean contains(T element){
+        if (element == null) return false;
+        Node<T> current = root;
+        while (current != null) {
+            int cmp = element.compareTo(current.data);
+            if (cmp < 0) current = current.left;
+            else if (cmp > 0) current = current.right;
+            else return true;
+        }
+        return false;
+    }
+
+    // returns this tree if the element is absent
+    public PersistentBinarySearchTree<T> remove(T element){
+        if (element == null) return this;
+        Node<T> newRoot = removeRecursive(root, element);
+        if (newRoot == root) return this;
+        return newRoot == null ? empty() : new PersistentBinarySearchTree<>(newRoot);
+    }
+
+    private static <T extends Comparable<T>> Node<T> removeRecursive(Node<T> current, T element){
+        if (current == null) return null;
+        int cmp = element.compareTo(current.data);
+        if (cmp < 0) {
+            Node<T> left = removeRecursive(current.left, element);
+            return left == current.left ? current : balance(left, current.data, current.right);
+        } else if (cmp > 0) {
+            Node<T> right = removeRecursive(current.right, element);
+            return right == current.right ? current : balance(current.left, current.data, right);
+        }
+        if (current.left == null) return current.right;
+        if (current.right == null) return current.left;
+        T successor = findMin(current.right);
+        return balance(current.left, successor, removeMin(current.right));
+    }
+
+    private static <T> T findMin(Node<T> current){
+        while (current.left != null) current = current.left;
+        return current.data;
+    }
+
+    private static <T> Node<T> removeMin(Node<T> current){
+        if (current.left == null) return current.right;
+        return balance(removeMin(current.left), current.data, current.right);
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    // builds a node from two AVL subtrees whose heights differ by at most 2
+    private static <T> Node<T> balance(Node<T> left, T data, Node<T> right) {
+        int diff = height(left) - height(right);
+        if (diff > 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new Node<>(left.left, left.data, new Node<>(left.right, data, right));
+            }
+            Node<T> pivot = left.right;
+            return new Node<>(new Node<>(left.left, left.data, pivot.left), pivot.data, new Node<>(pivot.right, data, right));
+        }
+        if (diff < -1) {
+            if (height(right.right) >= height(right.left)) {
+                return new Node<>(new Node<>(left, data, right.left), right.data, right.right);
+            }
+            Node<T> pivot = right.left;
+            return new Node<>(new Node<>(left, data, pivot.left), pivot.data, new Node<>(pivot.right, right.data, right.right));
+        }
+        return new Node<>(left, data, right);
+    }
+
+    public int height() {
+        return height(root);
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        for(T element : this){
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(element);
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    // the tree never changes, so iteration needs no snapshot and never fails
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            @SuppressWarnings("unchecked")
+            private final Node<T>[] stack = (Node<T>[]) new Node[height(root)];
+            private int top;
+
+            {
+                pushLeft(root);
+            }
+
+            private void pushLeft(Node<T> node) {
+                while (node != null) {
+                    stack[top++] = node;
+                    node = node.left;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return top > 0;
+            }
+
+            @Override
+            public T next() {
+                if (top == 0) throw new NoSuchElementException();
+                Node<T> node = stack[--top];
+                stack[top] = null;
+                if (node.right != null) pushLeft(node.right);
+                return node.data;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,85 @@
+package io.jfxdevelop;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Преобразование ключей и значений в байты для снимков {@link HashTable}.
+ * Кодирование ключей должно быть взаимно однозначным: поиск в снимке
+ * сравнивает закодированные байты, а не вызывает equals
+ *
+ * @param <T> тип кодируемых объектов
+ */
+public interface SnapshotCodec<T> {
+
+    /**
+     * @param value объект
+     * @return байтовое представление
+     */
+    byte[] encode(T value);
+
+    /**
+     * Чтение объекта прямо из отображенной памяти
+     * @param segment сегмент снимка
+     * @param offset смещение байтового представления
+     * @param length длина байтового представления
+     * @return объект
+     */
+    T decode(MemorySegment segment, long offset, int length);
+
+    /**
+     * @return кодек строк в UTF-8
+     */
+    static SnapshotCodec<String> strings() {
+        return new SnapshotCodec<>() {
+            @Override
+            public byte[] encode(String value) {
+                return value.getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public String decode(MemorySegment segment, long offset, int length) {
+                byte[] bytes = new byte[length];
+                MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, offset, bytes, 0, length);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    /**
+     * @return кодек Integer (4 байта little-endian)
+     */
+    static SnapshotCodec<Integer> integers() {
+        return new SnapshotCodec<>() {
+            @Override
+            public byte[] encode(Integer value) {
+                return ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(value).array();
+            }
+
+            @Override
+            public Integer decode(MemorySegment segment, long offset, int length) {
+                return segment.get(ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN), offset);
+            }
+        };
+    }
+
+    /**
+     * @return кодек Long (8 байт little-endian)
+     */
+    static SnapshotCodec<Long> longs() {
+        return new SnapshotCodec<>() {
+            @Override
+            public byte[] encode(Long value) {
+                return ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(value).array();
+            }
+
+            @Override
+            public Long decode(MemorySegment segment, long offset, int length) {
+                return segment.get(ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN), offset);
+            }
+        };
+    }
+}
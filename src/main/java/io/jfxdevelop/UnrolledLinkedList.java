@@ -0,0 +1,313 @@
+package io.jfxdevelop;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+// LinkedList whose nodes hold up to 32 elements in an array: traversal reads
+// elements sequentially and follows one pointer per node instead of per element.
+// Inserting into a full node splits it in half; a node that drops below half full
+// on removal merges with or borrows from a neighbour
+public class UnrolledLinkedList<T> implements Iterable<T> {
+    private static final int NODE_CAPACITY = 32;
+    private static final int MIN_FILL = NODE_CAPACITY / 2;
+
+    private static class Node<T> {
+        final Object[] elements = new Object[NODE_CAPACITY];
+        int count;
+        Node<T> prev;
+        Node<T> next;
+    }
+
+    private Node<T> head;
+    private Node<T> tail;
+    private int size;
+    private int nodeStart;  // index of the first element of the node last returned by findNode
+
+    public UnrolledLinkedList() {
+        this.head = null;
+        this.tail = null;
+        this.size = 0;
+    }
+
+    public void addFirst(T element) {
+        if (head == null || head.count == NODE_CAPACITY) {
+            linkBefore(new Node<>(), head);
+        }
+        insertAt(head, 0, element);
+    }
+    public void addLast(T element) {
+        // sequential appends leave every node full
+        if (tail == null || tail.count == NODE_CAPACITY) {
+            linkAfter(new Node<>(), tail);
+        }
+        tail.elements[tail.count++] = element;
+        size++;
+    }
+    public void add(T element){
+        addLast(element);
+    }
+    public void insert(int index, T element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index out of bounds");
+        }
+        if (index == size) {
+            addLast(element);
+            return;
+        }
+        Node<T> node = findNode(index);
+        int offset = index - nodeStart;
+        if (node.count == NODE_CAPACITY) {
+            Node<T> right = split(node);
+            if (offset > node.count) {
+                offset -= node.count;
+                node = right;
+            }
+        }
+        insertAt(node, offset, element);
+    }
+
+    private void insertAt(Node<T> node, int offset, T element) {
+        System.arraycopy(node.elements, offset, node.elements, offset + 1, node.count - offset);
+        node.elements[offset] = element;
+        node.count++;
+        size++;
+    }
+
+    // moves the upper half of a full node into a new node after it
+    private Node<T> split(Node<T> node) {
+        Node<T> right = new Node<>();
+        int moved = node.count - MIN_FILL;
+        System.arraycopy(node.elements, MIN_FILL, right.elements, 0, moved);
+        clearSlots(node, MIN_FILL, node.count);
+        right.count = moved;
+        node.count = MIN_FILL;
+        linkAfter(right, node);
+        return right;
+    }
+
+    public T removeFirst() {
+        if (head == null) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return removeAt(head, 0);
+    }
+    public T removeLast() {
+        if (tail == null) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return removeAt(tail, tail.count - 1);
+    }
+    public T remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index out of bounds");
+        }
+        Node<T> node = findNode(index);
+        return removeAt(node, index - nodeStart);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T removeAt(Node<T> node, int offset) {
+        T data = (T) node.elements[offset];
+        System.arraycopy(node.elements, offset + 1, node.elements, offset, node.count - offset - 1);
+        node.elements[--node.count] = null;
+        size--;
+        rebalance(node);
+        return data;
+    }
+
+    // an empty node is unlinked; a node under half full merges with a neighbour
+    // if both fit in one node, otherwise takes elements from it until they are even
+    private void rebalance(Node<T> node) {
+        if (node.count == 0) {
+            unlink(node);
+            return;
+        }
+        if (node.count >= MIN_FILL) return;
+        Node<T> left = node.next != null ? node : node.prev;
+        if (left == null) return;
+        Node<T> right = left.next;
+        int total = left.count + right.count;
+        if (total <= NODE_CAPACITY) {
+            System.arraycopy(right.elements, 0, left.elements, left.count, right.count);
+            left.count = total;
+            unlink(right);
+        } else if (left.count < right.count) {
+            int moved = total / 2 - left.count;
+            System.arraycopy(right.elements, 0, left.elements, left.count, moved);
+            System.arraycopy(right.elements, moved, right.elements, 0, right.count - moved);
+            clearSlots(right, right.count - moved, right.count);
+            left.count += moved;
+            right.count -= moved;
+        } else {
+            int moved = total / 2 - right.count;
+            System.arraycopy(right.elements, 0, right.elements, moved, right.count);
+            System.arraycopy(left.elements, left.count - moved, right.elements, 0, moved);
+            clearSlots(left, left.count - moved, left.count);
+            left.count -= moved;
+            right.count += moved;
+        }
+    }
+
+    private static void clearSlots(Node<?> node, int from, int to) {
+        for (int i = from; i < to; i++) {
+            node.elements[i] = null;
+        }
+    }
+
+    private void linkAfter(Node<T> node, Node<T> prev) {
+        node.prev = prev;
+        node.next = prev == null ? null : prev.next;
+        if (prev == null) head = node;
+        else prev.next = node;
+        if (node.next == null) tail = node;
+        else node.next.prev = node;
+    }
+
+    private void linkBefore(Node<T> node, Node<T> next) {
+        node.next = next;
+        node.prev = next == null ? null : next.prev;
+        if (next == null) tail = node;
+        else next.prev = node;
+        if (node.prev == null) head = node;
+        else node.prev.next = node;
+    }
+
+    private void unlink(Node<T> node) {
+        if (node.prev == null) head = node.next;
+        else node.prev.next = node.next;
+        if (node.next == null) tail = node.prev;
+        else node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+    }
+
+    // walks whole nodes from the nearer end; the node start index is left in nodeStart
+    private Node<T> findNode(int index) {
+        if (index < size / 2) {
+            Node<T> current = head;
+            int start = 0;
+            while (start + current.count <= index) {
+                start += current.count;
+                current = current.next;
+            }
+            nodeStart = start;
+            return current;
+        }
+        Node<T> current = tail;
+        int start = size - current.count;
+        while (start > index) {
+            current = current.prev;
+            start -= current.count;
+        }
+        nodeStart = start;
+        return current;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T getFirst() {
+        if (head == null) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return (T) head.elements[0];
+    }
+    @SuppressWarnings("unchecked")
+    public T getLast() {
+        if (tail == null) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return (T) tail.elements[tail.count - 1];
+    }
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index out of bounds");
+        }
+        Node<T> node = findNode(index);
+        return (T) node.elements[index - nodeStart];
+    }
+    public void set(int index, T element) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index out of bounds");
+        }
+        Node<T> node = findNode(index);
+        node.elements[index - nodeStart] = element;
+    }
+    public int size() {
+        return size;
+    }
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    public void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+    }
+    public int indexOf(T element) {
+        int start = 0;
+        for (Node<T> current = head; current != null; current = current.next) {
+            for (int i = 0; i < current.count; i++) {
+                if (Objects.equals(current.elements[i], element)) return start + i;
+            }
+            start += current.count;
+        }
+        return -1;
+    }
+    public boolean contains(T element) {
+        return indexOf(element) != -1;
+    }
+
+    // reverses the node chain and the elements inside each node
+    public void reverse(){
+        Node<T> current = head;
+        while (current != null) {
+            Object[] elements = current.elements;
+            for (int i = 0, j = current.count - 1; i < j; i++, j--) {
+                Object tmp = elements[i];
+                elements[i] = elements[j];
+                elements[j] = tmp;
+            }
+            Node<T> next = current.next;
+            current.next = current.prev;
+            current.prev = next;
+            current = next;
+        }
+        Node<T> oldHead = head;
+        head = tail;
+        tail = oldHead;
+    }
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Node<T> current = head;
+            private int offset = 0;
+            public boolean hasNext() {
+                return current != null;
+            }
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (current == null) throw new NoSuchElementException();
+                T data = (T) current.elements[offset++];
+                if (offset == current.count) {
+                    current = current.next;
+                    offset = 0;
+                }
+                return data;
+            }
+        };
+    }
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        for (Node<T> current = head; current != null; current = current.next) {
+            for (int i = 0; i < current.count; i++) {
+                if (sb.length() > 1) sb.append(", ");
+                sb.append(current.elements[i]);
+            }
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+}
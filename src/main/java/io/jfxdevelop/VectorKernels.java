@@ -0,0 +1,258 @@
+package io.jfxdevelop;
+
+import java.util.Arrays;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// SIMD kernels over the first length elements of primitive arrays.
+// Loaded only by ArrayKernels when jdk.incubator.vector is present
+final class VectorKernels {
+
+    private static final VectorSpecies<Integer> INT = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONG = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLE = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorKernels() {
+    }
+
+    // int
+
+    static int indexOf(int[] a, int length, int value) {
+        int i = 0;
+        for (int bound = INT.loopBound(length); i < bound; i += INT.length()) {
+            VectorMask<Integer> eq = IntVector.fromArray(INT, a, i).eq(value);
+            if (eq.anyTrue()) return i + eq.firstTrue();
+        }
+        for (; i < length; i++) {
+            if (a[i] == value) return i;
+        }
+        return -1;
+    }
+
+    static int count(int[] a, int length, int value) {
+        int count = 0;
+        int i = 0;
+        for (int bound = INT.loopBound(length); i < bound; i += INT.length()) {
+            count += IntVector.fromArray(INT, a, i).eq(value).trueCount();
+        }
+        for (; i < length; i++) {
+            if (a[i] == value) count++;
+        }
+        return count;
+    }
+
+    static int min(int[] a, int length) {
+        IntVector acc = IntVector.broadcast(INT, Integer.MAX_VALUE);
+        int i = 0;
+        for (int bound = INT.loopBound(length); i < bound; i += INT.length()) {
+            acc = acc.min(IntVector.fromArray(INT, a, i));
+        }
+        int min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < length; i++) min = Math.min(min, a[i]);
+        return min;
+    }
+
+    static int max(int[] a, int length) {
+        IntVector acc = IntVector.broadcast(INT, Integer.MIN_VALUE);
+        int i = 0;
+        for (int bound = INT.loopBound(length); i < bound; i += INT.length()) {
+            acc = acc.max(IntVector.fromArray(INT, a, i));
+        }
+        int max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < length; i++) max = Math.max(max, a[i]);
+        return max;
+    }
+
+    // widened to long lanes (both preferred species share one shape), so the sum cannot overflow
+    static long sum(int[] a, int length) {
+        LongVector acc = LongVector.zero(LONG);
+        int i = 0;
+        for (int bound = INT.loopBound(length); i < bound; i += INT.length()) {
+            IntVector v = IntVector.fromArray(INT, a, i);
+            for (int part = 0; part < INT.length() / LONG.length(); part++) {
+                acc = acc.add((LongVector) v.convertShape(VectorOperators.I2L, LONG, part));
+            }
+        }
+        long sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) sum += a[i];
+        return sum;
+    }
+
+    static int[] filterRange(int[] a, int length, int lo, int hi) {
+        // room for one full vector store past the last kept element
+        int[] out = new int[length + INT.length()];
+        int n = 0;
+        int i = 0;
+        for (int bound = INT.loopBound(length); i < bound; i += INT.length()) {
+            IntVector v = IntVector.fromArray(INT, a, i);
+            VectorMask<Integer> keep = v.compare(VectorOperators.GE, lo).and(v.compare(VectorOperators.LE, hi));
+            if (keep.anyTrue()) {
+                v.compress(keep).intoArray(out, n);
+                n += keep.trueCount();
+            }
+        }
+        for (; i < length; i++) {
+            if (a[i] >= lo && a[i] <= hi) out[n++] = a[i];
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    // long
+
+    static int indexOf(long[] a, int length, long value) {
+        int i = 0;
+        for (int bound = LONG.loopBound(length); i < bound; i += LONG.length()) {
+            VectorMask<Long> eq = LongVector.fromArray(LONG, a, i).eq(value);
+            if (eq.anyTrue()) return i + eq.firstTrue();
+        }
+        for (; i < length; i++) {
+            if (a[i] == value) return i;
+        }
+        return -1;
+    }
+
+    static int count(long[] a, int length, long value) {
+        int count = 0;
+        int i = 0;
+        for (int bound = LONG.loopBound(length); i < bound; i += LONG.length()) {
+            count += LongVector.fromArray(LONG, a, i).eq(value).trueCount();
+        }
+        for (; i < length; i++) {
+            if (a[i] == value) count++;
+        }
+        return count;
+    }
+
+    static long min(long[] a, int length) {
+        LongVector acc = LongVector.broadcast(LONG, Long.MAX_VALUE);
+        int i = 0;
+        for (int bound = LONG.loopBound(length); i < bound; i += LONG.length()) {
+            acc = acc.min(LongVector.fromArray(LONG, a, i));
+        }
+        long min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < length; i++) min = Math.min(min, a[i]);
+        return min;
+    }
+
+    static long max(long[] a, int length) {
+        LongVector acc = LongVector.broadcast(LONG, Long.MIN_VALUE);
+        int i = 0;
+        for (int bound = LONG.loopBound(length); i < bound; i += LONG.length()) {
+            acc = acc.max(LongVector.fromArray(LONG, a, i));
+        }
+        long max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < length; i++) max = Math.max(max, a[i]);
+        return max;
+    }
+
+    static long sum(long[] a, int length) {
+        LongVector acc = LongVector.zero(LONG);
+        int i = 0;
+        for (int bound = LONG.loopBound(length); i < bound; i += LONG.length()) {
+            acc = acc.add(LongVector.fromArray(LONG, a, i));
+        }
+        long sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) sum += a[i];
+        return sum;
+    }
+
+    static long[] filterRange(long[] a, int length, long lo, long hi) {
+        long[] out = new long[length + LONG.length()];
+        int n = 0;
+        int i = 0;
+        for (int bound = LONG.loopBound(length); i < bound; i += LONG.length()) {
+            LongVector v = LongVector.fromArray(LONG, a, i);
+            VectorMask<Long> keep = v.compare(VectorOperators.GE, lo).and(v.compare(VectorOperators.LE, hi));
+            if (keep.anyTrue()) {
+                v.compress(keep).intoArray(out, n);
+                n += keep.trueCount();
+            }
+        }
+        for (; i < length; i++) {
+            if (a[i] >= lo && a[i] <= hi) out[n++] = a[i];
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    // double
+
+    static int indexOf(double[] a, int length, double value) {
+        int i = 0;
+        for (int bound = DOUBLE.loopBound(length); i < bound; i += DOUBLE.length()) {
+            VectorMask<Double> eq = DoubleVector.fromArray(DOUBLE, a, i).eq(value);
+            if (eq.anyTrue()) return i + eq.firstTrue();
+        }
+        for (; i < length; i++) {
+            if (a[i] == value) return i;
+        }
+        return -1;
+    }
+
+    static int count(double[] a, int length, double value) {
+        int count = 0;
+        int i = 0;
+        for (int bound = DOUBLE.loopBound(length); i < bound; i += DOUBLE.length()) {
+            count += DoubleVector.fromArray(DOUBLE, a, i).eq(value).trueCount();
+        }
+        for (; i < length; i++) {
+            if (a[i] == value) count++;
+        }
+        return count;
+    }
+
+    static double min(double[] a, int length) {
+        DoubleVector acc = DoubleVector.broadcast(DOUBLE, Double.POSITIVE_INFINITY);
+        int i = 0;
+        for (int bound = DOUBLE.loopBound(length); i < bound; i += DOUBLE.length()) {
+            acc = acc.min(DoubleVector.fromArray(DOUBLE, a, i));
+        }
+        double min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < length; i++) min = Math.min(min, a[i]);
+        return min;
+    }
+
+    static double max(double[] a, int length) {
+        DoubleVector acc = DoubleVector.broadcast(DOUBLE, Double.NEGATIVE_INFINITY);
+        int i = 0;
+        for (int bound = DOUBLE.loopBound(length); i < bound; i += DOUBLE.length()) {
+            acc = acc.max(DoubleVector.fromArray(DOUBLE, a, i));
+        }
+        double max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < length; i++) max = Math.max(max, a[i]);
+        return max;
+    }
+
+    static double sum(double[] a, int length) {
+        DoubleVector acc = DoubleVector.zero(DOUBLE);
+        int i = 0;
+        for (int bound = DOUBLE.loopBound(length); i < bound; i += DOUBLE.length()) {
+            acc = acc.add(DoubleVector.fromArray(DOUBLE, a, i));
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) sum += a[i];
+        return sum;
+    }
+
+    static double[] filterRange(double[] a, int length, double lo, double hi) {
+        double[] out = new double[length + DOUBLE.length()];
+        int n = 0;
+        int i = 0;
+        for (int bound = DOUBLE.loopBound(length); i < bound; i += DOUBLE.length()) {
+            DoubleVector v = DoubleVector.fromArray(DOUBLE, a, i);
+            VectorMask<Double> keep = v.compare(VectorOperators.GE, lo).and(v.compare(VectorOperators.LE, hi));
+            if (keep.anyTrue()) {
+                v.compress(keep).intoArray(out, n);
+                n += keep.trueCount();
+            }
+        }
+        for (; i < length; i++) {
+            if (a[i] >= lo && a[i] <= hi) out[n++] = a[i];
+        }
+        return Arrays.copyOf(out, n);
+    }
+}